@@ -1,13 +1,36 @@
 package ru.acton.ivantkachuk.userservice;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
 
 @SpringBootApplication
 public class UserserviceApplication {
 
+    static final String MIGRATE_COMMAND = "migrate";
+
     public static void main(String[] args) {
+        if (args.length > 0 && MIGRATE_COMMAND.equals(args[0])) {
+            System.exit(SpringApplication.exit(migrate(Arrays.copyOfRange(args, 1, args.length))));
+        }
         SpringApplication.run(UserserviceApplication.class, args);
     }
 
+    public static ConfigurableApplicationContext migrate(String[] args) {
+        return new SpringApplicationBuilder(Migration.class)
+                .web(WebApplicationType.NONE)
+                .profiles(MIGRATE_COMMAND)
+                .run(args);
+    }
+
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+    static class Migration {
+    }
 }
@@ -0,0 +1,20 @@
+package ru.acton.ivantkachuk.userservice.cache;
+
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+
+import java.time.Duration;
+
+public record CachedUser(UserResponseDto user, Duration staleAge) {
+
+    public static CachedUser fresh(UserResponseDto user) {
+        return new CachedUser(user, null);
+    }
+
+    public static CachedUser stale(UserResponseDto user, Duration age) {
+        return new CachedUser(user, age);
+    }
+
+    public boolean isStale() {
+        return staleAge != null;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.acton.ivantkachuk.userservice.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserCacheConfig {
+
+    @Bean
+    public UserReadCache userReadCache(UserCacheProperties properties) {
+        return new UserReadCache(properties, System::nanoTime);
+    }
+
+    @Bean
+    public MeterBinder userReadCacheMetrics(UserReadCache userReadCache) {
+        return registry -> Gauge.builder("userservice.cache.size", userReadCache, UserReadCache::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,156 @@
+package ru.acton.ivantkachuk.userservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "userservice.cache.invalidation.enabled", havingValue = "true")
+public class UserCacheInvalidationBus implements SmartLifecycle {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String SEPARATOR = ":";
+
+    private final UserReadCache userReadCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    public UserCacheInvalidationBus(UserReadCache userReadCache,
+                                    JdbcTemplate jdbcTemplate,
+                                    DataSourceProperties dataSourceProperties,
+                                    UserCacheProperties properties) {
+        UserCacheProperties.Invalidation invalidation = properties.getInvalidation();
+        if (!CHANNEL_NAME.matcher(invalidation.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + invalidation.getChannel());
+        }
+        this.userReadCache = userReadCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = invalidation.getChannel();
+        this.pollTimeoutMillis = (int) invalidation.getPollTimeout().toMillis();
+        this.reconnectDelayMillis = invalidation.getReconnectDelay().toMillis();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        String email = event.email();
+        String payload = nodeId + SEPARATOR + event.id() + SEPARATOR + (email == null ? "" : email);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("user-cache-invalidation")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                userReadCache.clear();
+                log.info("Listening for user cache invalidations on channel '{}'", channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        if (!connection.isValid(pollTimeoutMillis / 1000 + 1)) {
+                            throw new SQLException("Listen connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("User cache invalidation listener lost its connection, reconnecting in {} ms",
+                            reconnectDelayMillis, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache invalidation payload '{}'", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            userReadCache.evict(Long.valueOf(parts[1]), parts[2].isEmpty() ? null : parts[2]);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring cache invalidation with invalid id '{}'", payload);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close listen connection", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.acton.ivantkachuk.userservice.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.cache")
+public class UserCacheProperties {
+
+    private int maxEntries = 100_000;
+    private Duration freshFor = Duration.ZERO;
+    private Duration maxStale = Duration.ofMinutes(10);
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Invalidation {
+        private boolean enabled = false;
+        private String channel = "user_cache_invalidation";
+        private Duration pollTimeout = Duration.ofSeconds(10);
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+    }
+}
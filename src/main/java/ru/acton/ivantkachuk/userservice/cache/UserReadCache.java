@@ -0,0 +1,115 @@
+package ru.acton.ivantkachuk.userservice.cache;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+public class UserReadCache {
+
+    public record Entry(UserResponseDto user, long cachedAt) {
+    }
+
+    private final int maxEntries;
+    private final long freshNanos;
+    private final long maxStaleNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> idByEmail = new ConcurrentHashMap<>();
+
+    public UserReadCache(UserCacheProperties properties, LongSupplier nanoClock) {
+        this.maxEntries = properties.getMaxEntries();
+        this.freshNanos = properties.getFreshFor().toNanos();
+        this.maxStaleNanos = properties.getMaxStale().toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public UserResponseDto put(UserResponseDto user) {
+        if (user == null || user.getId() == null) {
+            return user;
+        }
+        if (byId.size() >= maxEntries && !byId.containsKey(user.getId())) {
+            evictOne();
+        }
+        Entry previous = byId.put(user.getId(), new Entry(user, nanoClock.getAsLong()));
+        if (previous != null && previous.user().getEmail() != null
+                && !previous.user().getEmail().equals(user.getEmail())) {
+            idByEmail.remove(previous.user().getEmail(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.put(user.getEmail(), user.getId());
+        }
+        return user;
+    }
+
+    public Optional<Entry> getById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<Entry> getByEmail(String email) {
+        Long id = idByEmail.get(email);
+        return id == null ? Optional.empty() : getById(id)
+                .filter(entry -> email.equals(entry.user().getEmail()));
+    }
+
+    public boolean isFresh(Entry entry) {
+        return age(entry) < freshNanos;
+    }
+
+    public boolean isServableWhenStale(Entry entry) {
+        return age(entry) < maxStaleNanos;
+    }
+
+    public Duration getAge(Entry entry) {
+        return Duration.ofNanos(age(entry));
+    }
+
+    public void evict(Long id, String email) {
+        Entry removed = id == null ? null : byId.remove(id);
+        if (removed != null && removed.user().getEmail() != null) {
+            idByEmail.remove(removed.user().getEmail(), id);
+        }
+        if (email != null) {
+            Long cachedId = idByEmail.remove(email);
+            if (cachedId != null) {
+                byId.remove(cachedId);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.current() != null) {
+            put(event.current());
+        } else {
+            evict(event.id(), event.email());
+        }
+    }
+
+    public void clear() {
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private long age(Entry entry) {
+        return nanoClock.getAsLong() - entry.cachedAt();
+    }
+
+    private void evictOne() {
+        Iterator<Entry> iterator = byId.values().iterator();
+        if (iterator.hasNext()) {
+            Entry victim = iterator.next();
+            evict(victim.user().getId(), victim.user().getEmail());
+        }
+    }
+}
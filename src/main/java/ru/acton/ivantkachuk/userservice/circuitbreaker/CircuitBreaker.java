@@ -0,0 +1,159 @@
+package ru.acton.ivantkachuk.userservice.circuitbreaker;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionException;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(CircuitBreakerProperties properties, LongSupplier nanoClock) {
+        this.minimumCalls = properties.getMinimumCalls();
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+        this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.nanoClock = nanoClock;
+        this.outcomes = new byte[properties.getSlidingWindowSize()];
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        long start = nanoClock.getAsLong();
+        try {
+            T result = call.get();
+            record(nanoClock.getAsLong() - start, false);
+            return result;
+        } catch (RuntimeException e) {
+            record(nanoClock.getAsLong() - start, isFailure(e));
+            throw e;
+        }
+    }
+
+    public void execute(Runnable call) {
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public static boolean isFailure(RuntimeException e) {
+        return (e instanceof DataAccessException && !(e instanceof DataIntegrityViolationException))
+                || e instanceof TransactionException;
+    }
+
+    private synchronized void acquirePermission() {
+        long now = nanoClock.getAsLong();
+        if (state == State.OPEN) {
+            long remaining = remainingOpenNanos(now);
+            if (remaining > 0) {
+                throw notPermitted(Duration.ofNanos(remaining));
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                throw notPermitted(Duration.ofNanos(openNanos));
+            }
+            halfOpenPermits--;
+        }
+    }
+
+    private synchronized void record(long elapsedNanos, boolean failed) {
+        byte outcome = failed ? FAILURE : elapsedNanos >= slowCallNanos ? SLOW : SUCCESS;
+        if (state == State.HALF_OPEN) {
+            if (outcome == SUCCESS) {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+            } else {
+                open();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (recorded == outcomes.length) {
+            forget(outcomes[next]);
+        } else {
+            recorded++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+        if (recorded >= minimumCalls
+                && (failures >= failureRateThreshold * recorded || slowCalls >= slowCallRateThreshold * recorded)) {
+            open();
+        }
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            failures--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    private long remainingOpenNanos(long now) {
+        return openedAt + openNanos - now;
+    }
+
+    private ServiceUnavailableException notPermitted(Duration retryAfter) {
+        return new ServiceUnavailableException("Database is unavailable, circuit breaker is " + state, retryAfter);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.acton.ivantkachuk.userservice.circuitbreaker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+public class CircuitBreakerConfig {
+
+    @Bean
+    public CircuitBreaker userRepositoryCircuitBreaker(CircuitBreakerProperties properties) {
+        return new CircuitBreaker(properties, System::nanoTime);
+    }
+
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreaker circuitBreaker) {
+        return registry -> Gauge.builder("userservice.circuit-breaker.state", circuitBreaker,
+                        breaker -> breaker.getState().ordinal())
+                .description("0 - closed, 1 - open, 2 - half open")
+                .register(registry);
+    }
+}
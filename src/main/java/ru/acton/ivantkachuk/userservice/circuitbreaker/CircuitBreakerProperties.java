@@ -0,0 +1,19 @@
+package ru.acton.ivantkachuk.userservice.circuitbreaker;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    private int slidingWindowSize = 50;
+    private int minimumCalls = 10;
+    private double failureRateThreshold = 0.5;
+    private double slowCallRateThreshold = 0.8;
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+    private Duration openDuration = Duration.ofSeconds(10);
+    private int halfOpenCalls = 3;
+}
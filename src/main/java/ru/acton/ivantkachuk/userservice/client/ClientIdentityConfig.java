@@ -0,0 +1,15 @@
+package ru.acton.ivantkachuk.userservice.client;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ClientIdentityProperties.class)
+public class ClientIdentityConfig {
+
+    @Bean
+    public ClientIdentityResolver clientIdentityResolver(ClientIdentityProperties properties) {
+        return new ClientIdentityResolver(properties);
+    }
+}
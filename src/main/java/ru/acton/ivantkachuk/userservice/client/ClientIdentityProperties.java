@@ -0,0 +1,15 @@
+package ru.acton.ivantkachuk.userservice.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("userservice.client-identity")
+public class ClientIdentityProperties {
+
+    private String header = "X-Client-Id";
+    private List<String> trustedProxies = new ArrayList<>();
+}
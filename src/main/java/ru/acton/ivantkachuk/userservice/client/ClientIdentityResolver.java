@@ -0,0 +1,32 @@
+package ru.acton.ivantkachuk.userservice.client;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+import java.util.Set;
+
+public class ClientIdentityResolver {
+
+    private final String header;
+    private final Set<String> trustedProxies;
+
+    public ClientIdentityResolver(ClientIdentityProperties properties) {
+        this.header = properties.getHeader();
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String remoteAddr = request.getRemoteAddr();
+        if (trustedProxies.contains(remoteAddr)) {
+            String clientId = request.getHeader(header);
+            if (clientId != null && !clientId.isBlank()) {
+                return "client:" + clientId;
+            }
+        }
+        return "addr:" + remoteAddr;
+    }
+}
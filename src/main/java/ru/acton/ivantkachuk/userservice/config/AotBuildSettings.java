@@ -0,0 +1,57 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeSet;
+
+final class AotBuildSettings {
+
+    static final String RESOURCE = "META-INF/userservice/aot-build.properties";
+    static final String PROFILES = "spring.profiles.active";
+
+    static final Map<String, String> CONDITION_PROPERTIES = conditionProperties();
+
+    private AotBuildSettings() {
+    }
+
+    static Properties capture(Environment environment) {
+        Properties settings = new Properties();
+        settings.setProperty(PROFILES, StringUtils.arrayToCommaDelimitedString(
+                Arrays.stream(environment.getActiveProfiles()).sorted().toArray()));
+        CONDITION_PROPERTIES.forEach((name, defaultValue) ->
+                settings.setProperty(name, environment.getProperty(name, defaultValue)));
+        return settings;
+    }
+
+    static List<String> differences(Properties built, Properties current) {
+        List<String> differences = new ArrayList<>();
+        for (String name : new TreeSet<>(built.stringPropertyNames())) {
+            if (!Objects.equals(built.getProperty(name), current.getProperty(name))) {
+                differences.add(name + " was [" + built.getProperty(name) + "] at build time but is ["
+                        + current.getProperty(name) + "]");
+            }
+        }
+        return differences;
+    }
+
+    private static Map<String, String> conditionProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("userservice.cache.invalidation.enabled", "false");
+        properties.put("userservice.limiter.enabled", "true");
+        properties.put("userservice.limiter.rate-limit.enabled", "true");
+        properties.put("userservice.idempotency.enabled", "true");
+        properties.put("userservice.idempotency.jdbc.enabled", "false");
+        properties.put("userservice.sql-stats.enabled", "true");
+        properties.put("spring.data.jpa.repositories.bootstrap-mode", "default");
+        return Collections.unmodifiableMap(properties);
+    }
+}
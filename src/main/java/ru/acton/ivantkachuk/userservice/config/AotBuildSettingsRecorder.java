@@ -0,0 +1,31 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.Properties;
+import java.util.TreeSet;
+
+public class AotBuildSettingsRecorder implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        if (!beanFactory.containsBean(ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME)) {
+            return null;
+        }
+        Properties settings = AotBuildSettings.capture(
+                beanFactory.getBean(ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME, Environment.class));
+        return (generationContext, code) -> generationContext.getGeneratedFiles()
+                .addResourceFile(AotBuildSettings.RESOURCE, write(settings));
+    }
+
+    private static String write(Properties settings) {
+        StringBuilder content = new StringBuilder("# Settings the AOT-generated bean definitions were built with\n");
+        new TreeSet<>(settings.stringPropertyNames()).forEach(name ->
+                content.append(name).append('=').append(settings.getProperty(name)).append('\n'));
+        return content.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+
+public class AotBuildSettingsVerifier implements EnvironmentPostProcessor, Ordered {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(AotBuildSettings.RESOURCE, application.getClassLoader());
+        if (resource.exists()) {
+            verify(load(resource), environment);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    static void verify(Properties built, ConfigurableEnvironment environment) {
+        List<String> differences = AotBuildSettings.differences(built, AotBuildSettings.capture(environment));
+        if (!differences.isEmpty()) {
+            throw new IllegalStateException("The AOT-generated bean definitions do not match this environment: "
+                    + String.join("; ", differences) + ". Start without -Dspring.aot.enabled=true or rebuild with "
+                    + "-PaotProfiles/-PaotProperties set to these values");
+        }
+    }
+
+    private static Properties load(ClassPathResource resource) {
+        try {
+            return PropertiesLoaderUtils.loadProperties(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
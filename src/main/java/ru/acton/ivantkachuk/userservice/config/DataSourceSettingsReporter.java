@@ -0,0 +1,72 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Properties;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataSourceSettingsReporter {
+
+    private static final String BATCH_SIZE = "spring.jpa.properties.hibernate.jdbc.batch_size";
+    private static final String FETCH_SIZE = "spring.jpa.properties.hibernate.jdbc.fetch_size";
+    private static final String ORDER_INSERTS = "spring.jpa.properties.hibernate.order_inserts";
+    private static final String ORDER_UPDATES = "spring.jpa.properties.hibernate.order_updates";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        HikariDataSource hikari = unwrapHikari(dataSource.getIfAvailable());
+        if (hikari == null) {
+            log.info("No Hikari connection pool found, skipping datasource settings report");
+            return;
+        }
+        Properties driverProperties = hikari.getDataSourceProperties();
+        int batchSize = environment.getProperty(BATCH_SIZE, Integer.class, 0);
+
+        log.info("Connection pool '{}': maximumPoolSize={}, minimumIdle={}, connectionTimeout={}ms, maxLifetime={}ms",
+                hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                hikari.getConnectionTimeout(), hikari.getMaxLifetime());
+        log.info("JDBC driver: reWriteBatchedInserts={}, prepareThreshold={}, preparedStatementCacheQueries={}, defaultRowFetchSize={}",
+                driverProperties.getProperty("reWriteBatchedInserts", "false"),
+                driverProperties.getProperty("prepareThreshold", "5"),
+                driverProperties.getProperty("preparedStatementCacheQueries", "256"),
+                driverProperties.getProperty("defaultRowFetchSize", "0"));
+        log.info("Hibernate: jdbc.batch_size={}, jdbc.fetch_size={}, order_inserts={}, order_updates={}",
+                batchSize,
+                environment.getProperty(FETCH_SIZE, "driver default"),
+                environment.getProperty(ORDER_INSERTS, "false"),
+                environment.getProperty(ORDER_UPDATES, "false"));
+
+        if (batchSize > 1 && !Boolean.parseBoolean(driverProperties.getProperty("reWriteBatchedInserts"))) {
+            log.warn("Hibernate batching is enabled but reWriteBatchedInserts is off, inserts are sent as separate statements");
+        }
+        if (hikari.getMinimumIdle() > hikari.getMaximumPoolSize()) {
+            log.warn("minimumIdle ({}) exceeds maximumPoolSize ({})", hikari.getMinimumIdle(), hikari.getMaximumPoolSize());
+        }
+    }
+
+    private HikariDataSource unwrapHikari(DataSource dataSource) {
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            log.warn("Unable to inspect datasource {}", dataSource, e);
+            return null;
+        }
+    }
+}
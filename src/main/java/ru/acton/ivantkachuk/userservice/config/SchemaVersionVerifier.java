@@ -0,0 +1,75 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.LiquibaseException;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class SchemaVersionVerifier implements ApplicationRunner {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final Supplier<DataSource> dataSource;
+    private final boolean enabled;
+    private final String changeLog;
+
+    @Autowired
+    public SchemaVersionVerifier(ObjectProvider<DataSource> dataSource,
+                                 @Value("${userservice.schema.verify:false}") boolean enabled,
+                                 @Value("${spring.liquibase.change-log}") String changeLog) {
+        this(dataSource::getObject, enabled, changeLog);
+    }
+
+    public SchemaVersionVerifier(DataSource dataSource, String changeLog) {
+        this(() -> dataSource, true, changeLog);
+    }
+
+    private SchemaVersionVerifier(Supplier<DataSource> dataSource, boolean enabled, String changeLog) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.changeLog = changeLog.startsWith(CLASSPATH_PREFIX)
+                ? changeLog.substring(CLASSPATH_PREFIX.length())
+                : changeLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException, LiquibaseException {
+        if (!enabled) {
+            return;
+        }
+        List<ChangeSet> pending = pendingChangeSets();
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Database schema is behind " + changeLog + ", pending change sets: "
+                    + pending.stream().map(ChangeSet::toString).toList()
+                    + ". Run the 'migrate' command before starting the service");
+        }
+        log.info("Database schema is up to date with {}", changeLog);
+    }
+
+    private List<ChangeSet> pendingChangeSets() throws SQLException, LiquibaseException {
+        Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(dataSource.get().getConnection()));
+        try (Liquibase liquibase = new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database)) {
+            return liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression());
+        }
+    }
+}
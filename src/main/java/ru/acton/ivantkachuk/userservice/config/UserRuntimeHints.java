@@ -0,0 +1,33 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.entity.User;
+
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(UserRuntimeHints.Registrar.class)
+@RegisterReflectionForBinding({UserRequestDto.class, UserResponseDto.class, UserResponseDto.UserResponseDtoBuilder.class})
+public class UserRuntimeHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("db/changelog/*.yaml")
+                    .registerPattern("db/changelog/changeset/*.sql")
+                    .registerPattern(AotBuildSettings.RESOURCE);
+            hints.reflection()
+                    .registerType(User.class, MemberCategory.DECLARED_FIELDS,
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection()
+                    .registerType(AotBuildSettingsVerifier.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.acton.ivantkachuk.userservice.controller;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,7 +11,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.acton.ivantkachuk.userservice.cache.CachedUser;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
 import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
 import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
 import ru.acton.ivantkachuk.userservice.service.UserService;
@@ -23,6 +27,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    public static final String CACHE_STATUS = "X-Cache-Status";
+    public static final String STALE = "STALE";
+    public static final String WARNING = "Warning";
+    public static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
     private final UserService userService;
 
     @DeleteMapping("/{userId}")
@@ -33,9 +42,13 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<UserResponseDto> getUserById(@PathVariable @NotNull Long userId) {
-        return ResponseEntity.ok()
-                .body(userService.getUserById(userId));
+    public ResponseEntity<?> getUserById(@PathVariable @NotNull Long userId,
+                                         @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok()
+                    .body(userService.getUserFieldsById(userId, UserField.parse(fields)));
+        }
+        return cached(userService.readUserById(userId));
     }
 
     @PostMapping
@@ -45,13 +58,26 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
+    public ResponseEntity<List<?>> getAllUsers(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok()
+                    .body(userService.getAllUserFields(UserField.parse(fields)));
+        }
         return ResponseEntity.ok()
                         .body(userService.getAllUsers());
     }
     @GetMapping("/by-email/{email}")
     public ResponseEntity<UserResponseDto> getUserByEmail(@PathVariable @NotNull String email) {
-        return ResponseEntity.ok()
-                .body(userService.getUserByEmail(email));
+        return cached(userService.readUserByEmail(email));
+    }
+
+    private static ResponseEntity<UserResponseDto> cached(CachedUser result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.isStale()) {
+            response.header(CACHE_STATUS, STALE)
+                    .header(HttpHeaders.AGE, Long.toString(result.staleAge().toSeconds()))
+                    .header(WARNING, STALE_WARNING);
+        }
+        return response.body(result.user());
     }
 }
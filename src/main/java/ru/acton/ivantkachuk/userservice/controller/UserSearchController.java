@@ -0,0 +1,28 @@
+package ru.acton.ivantkachuk.userservice.controller;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.acton.ivantkachuk.userservice.dto.UserSearchResultDto;
+import ru.acton.ivantkachuk.userservice.search.UserSearchIndex;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/user/search")
+@RequiredArgsConstructor
+public class UserSearchController {
+
+    private final UserSearchIndex userSearchIndex;
+
+    @GetMapping
+    public ResponseEntity<List<UserSearchResultDto>> search(@RequestParam("q") @NotBlank String query,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok()
+                .body(userSearchIndex.search(query, limit));
+    }
+}
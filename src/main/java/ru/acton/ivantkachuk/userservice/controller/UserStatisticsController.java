@@ -0,0 +1,23 @@
+package ru.acton.ivantkachuk.userservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.acton.ivantkachuk.userservice.dto.UserStatisticsDto;
+import ru.acton.ivantkachuk.userservice.stats.UserStatistics;
+
+@RestController
+@RequestMapping("/user/stats")
+@RequiredArgsConstructor
+public class UserStatisticsController {
+
+    private final UserStatistics userStatistics;
+
+    @GetMapping
+    public ResponseEntity<UserStatisticsDto> getStatistics() {
+        return ResponseEntity.ok()
+                .body(userStatistics.snapshot());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.acton.ivantkachuk.userservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+
+@JsonSerialize(using = SparseUserView.Serializer.class)
+public record SparseUserView(UserField[] fields, Object[] values) {
+
+    public Object get(UserField field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == field) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    static class Serializer extends JsonSerializer<SparseUserView> {
+
+        @Override
+        public void serialize(SparseUserView view, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < view.fields.length; i++) {
+                UserField field = view.fields[i];
+                generator.writeFieldName(field.getName());
+                provider.defaultSerializeValue(field.toJsonValue(view.values[i]), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
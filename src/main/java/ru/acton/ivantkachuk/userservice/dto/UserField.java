@@ -0,0 +1,52 @@
+package ru.acton.ivantkachuk.userservice.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.acton.ivantkachuk.userservice.exception.impl.InvalidFieldException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public enum UserField {
+    ID("id"),
+    NAME("name"),
+    EMAIL("email"),
+    AGE("age"),
+    CREATED_AT("createdAt");
+
+    private final String name;
+
+    public Object toJsonValue(Object value) {
+        if (value instanceof LocalDate date) {
+            return Date.from(date.atStartOfDay(ZoneOffset.UTC).toInstant());
+        }
+        return value;
+    }
+
+    public static UserField[] parse(String fields) {
+        Set<UserField> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(byName(trimmed));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new InvalidFieldException(fields);
+        }
+        return parsed.toArray(UserField[]::new);
+    }
+
+    private static UserField byName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFieldException(name));
+    }
+}
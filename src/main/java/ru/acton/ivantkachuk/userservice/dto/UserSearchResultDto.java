@@ -0,0 +1,15 @@
+package ru.acton.ivantkachuk.userservice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+public class UserSearchResultDto {
+    private Long id;
+    private String name;
+    private String email;
+    private float score;
+}
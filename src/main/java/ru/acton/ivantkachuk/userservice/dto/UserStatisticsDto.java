@@ -0,0 +1,19 @@
+package ru.acton.ivantkachuk.userservice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Builder
+@ToString
+public class UserStatisticsDto {
+    private long totalUsers;
+    private Map<String, Long> ageHistogram;
+    private Map<LocalDate, Long> signupsPerDay;
+    private Instant reconciledAt;
+}
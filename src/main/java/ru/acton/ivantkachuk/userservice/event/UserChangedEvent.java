@@ -0,0 +1,25 @@
+package ru.acton.ivantkachuk.userservice.event;
+
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+
+public record UserChangedEvent(Long id, UserResponseDto previous, UserResponseDto current) {
+
+    public static UserChangedEvent created(UserResponseDto current) {
+        return new UserChangedEvent(current.getId(), null, current);
+    }
+
+    public static UserChangedEvent updated(UserResponseDto previous, UserResponseDto current) {
+        return new UserChangedEvent(current.getId(), previous, current);
+    }
+
+    public static UserChangedEvent deleted(Long id, UserResponseDto previous) {
+        return new UserChangedEvent(id, previous, null);
+    }
+
+    public String email() {
+        if (current != null && current.getEmail() != null) {
+            return current.getEmail();
+        }
+        return previous != null ? previous.getEmail() : null;
+    }
+}
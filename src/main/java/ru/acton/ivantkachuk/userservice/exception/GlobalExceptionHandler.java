@@ -1,5 +1,6 @@
 package ru.acton.ivantkachuk.userservice.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -7,12 +8,31 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityFoundWithEmailException;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundException;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundWithEmailException;
+import ru.acton.ivantkachuk.userservice.exception.impl.InvalidFieldException;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler({EntityNotFoundException.class, EntityNotFoundWithEmailException.class, EntityFoundWithEmailException.class})
+    @ExceptionHandler({EntityNotFoundException.class, EntityNotFoundWithEmailException.class})
     public ResponseEntity<String> handleEntityNotFound(Exception ex){
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    @ExceptionHandler(EntityFoundWithEmailException.class)
+    public ResponseEntity<String> handleEntityFoundWithEmail(EntityFoundWithEmailException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidFieldException.class)
+    public ResponseEntity<String> handleInvalidField(InvalidFieldException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ex.getMessage());
+    }
 }
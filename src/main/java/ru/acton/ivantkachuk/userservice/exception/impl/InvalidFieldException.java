@@ -0,0 +1,7 @@
+package ru.acton.ivantkachuk.userservice.exception.impl;
+
+public class InvalidFieldException extends RuntimeException {
+    public InvalidFieldException(String field) {
+        super("Unknown user field :" + field);
+    }
+}
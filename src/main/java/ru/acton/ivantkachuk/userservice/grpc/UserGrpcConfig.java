@@ -0,0 +1,9 @@
+package ru.acton.ivantkachuk.userservice.grpc;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserGrpcProperties.class)
+public class UserGrpcConfig {
+}
@@ -0,0 +1,28 @@
+package ru.acton.ivantkachuk.userservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import org.springframework.grpc.server.exception.GrpcExceptionHandler;
+import org.springframework.stereotype.Component;
+import ru.acton.ivantkachuk.userservice.exception.impl.EntityFoundWithEmailException;
+import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundException;
+import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundWithEmailException;
+import ru.acton.ivantkachuk.userservice.exception.impl.InvalidFieldException;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
+
+@Component
+public class UserGrpcExceptionHandler implements GrpcExceptionHandler {
+
+    @Override
+    public StatusException handleException(Throwable exception) {
+        Status status = switch (exception) {
+            case EntityNotFoundException e -> Status.NOT_FOUND;
+            case EntityNotFoundWithEmailException e -> Status.NOT_FOUND;
+            case EntityFoundWithEmailException e -> Status.ALREADY_EXISTS;
+            case InvalidFieldException e -> Status.INVALID_ARGUMENT;
+            case ServiceUnavailableException e -> Status.UNAVAILABLE;
+            default -> null;
+        };
+        return status == null ? null : status.withDescription(exception.getMessage()).asException();
+    }
+}
@@ -0,0 +1,13 @@
+package ru.acton.ivantkachuk.userservice.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("userservice.grpc")
+public class UserGrpcProperties {
+
+    private int maxBatchSize = 1000;
+    private int defaultPageSize = 500;
+    private int maxPageSize = 5000;
+}
@@ -0,0 +1,219 @@
+package ru.acton.ivantkachuk.userservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.grpc.server.service.GrpcService;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreaker;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.grpc.v1.BatchGetUsersRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.BatchGetUsersResponse;
+import ru.acton.ivantkachuk.userservice.grpc.v1.CreateUserFailure;
+import ru.acton.ivantkachuk.userservice.grpc.v1.CreateUserRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.CreateUsersResponse;
+import ru.acton.ivantkachuk.userservice.grpc.v1.GetUserRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.ListUsersRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.User;
+import ru.acton.ivantkachuk.userservice.grpc.v1.UserServiceGrpc;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@GrpcService
+@RequiredArgsConstructor
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+
+    private final UserService userService;
+    private final UserProtoMapper userProtoMapper;
+    private final UserGrpcProperties properties;
+    private final Validator validator;
+    private final UserGrpcExceptionHandler exceptionHandler;
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        UserResponseDto user = switch (request.getLookupCase()) {
+            case ID -> userService.getUserById(request.getId());
+            case EMAIL -> userService.getUserByEmail(request.getEmail());
+            case LOOKUP_NOT_SET -> throw Status.INVALID_ARGUMENT
+                    .withDescription("Either id or email must be set")
+                    .asRuntimeException();
+        };
+        responseObserver.onNext(userProtoMapper.toProto(user));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchGetUsers(BatchGetUsersRequest request, StreamObserver<BatchGetUsersResponse> responseObserver) {
+        if (request.getIdsCount() > properties.getMaxBatchSize()) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("At most " + properties.getMaxBatchSize() + " ids can be requested at once")
+                    .asRuntimeException();
+        }
+        List<UserResponseDto> users = userService.getUsersByIds(request.getIdsList());
+        BatchGetUsersResponse.Builder response = BatchGetUsersResponse.newBuilder();
+        Set<Long> found = new HashSet<>();
+        for (UserResponseDto user : users) {
+            found.add(user.getId());
+            response.addUsers(userProtoMapper.toProto(user));
+        }
+        for (long id : new LinkedHashSet<>(request.getIdsList())) {
+            if (!found.contains(id)) {
+                response.addMissingIds(id);
+            }
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listUsers(ListUsersRequest request, StreamObserver<User> responseObserver) {
+        int pageSize = request.getPageSize() > 0
+                ? Math.min(request.getPageSize(), properties.getMaxPageSize())
+                : properties.getDefaultPageSize();
+        new ListUsersCall((ServerCallStreamObserver<User>) responseObserver, request.getAfterId(), pageSize).start();
+    }
+
+    @Override
+    public StreamObserver<CreateUserRequest> createUsers(StreamObserver<CreateUsersResponse> responseObserver) {
+        CreateUsersResponse.Builder response = CreateUsersResponse.newBuilder();
+        int maxBatchSize = properties.getMaxBatchSize();
+        return new StreamObserver<>() {
+            private int index;
+            private boolean completed;
+
+            @Override
+            public void onNext(CreateUserRequest request) {
+                if (completed) {
+                    return;
+                }
+                int position = index++;
+                if (position == maxBatchSize) {
+                    response.addFailures(failure(position, request, Status.Code.RESOURCE_EXHAUSTED, "At most "
+                            + maxBatchSize + " users can be created in one call, this and the following users were "
+                            + "not created"));
+                    onCompleted();
+                    return;
+                }
+                UserRequestDto user = userProtoMapper.toRequestDto(request);
+                Set<ConstraintViolation<UserRequestDto>> violations = validator.validate(user);
+                if (!violations.isEmpty()) {
+                    response.addFailures(failure(position, request, Status.Code.INVALID_ARGUMENT,
+                            describe(violations)));
+                    return;
+                }
+                try {
+                    UserResponseDto created = userService.create(user);
+                    response.addUsers(userProtoMapper.toProto(created));
+                } catch (RuntimeException e) {
+                    Status.Code code = code(e);
+                    if (code != Status.Code.ALREADY_EXISTS) {
+                        log.warn("CreateUsers failed to create the user at index {}", position, e);
+                    }
+                    response.addFailures(failure(position, request, code,
+                            e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("CreateUsers aborted by the client after {} users", index, t);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                responseObserver.onNext(response.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private Status.Code code(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return Status.Code.ALREADY_EXISTS;
+        }
+        StatusException status = exceptionHandler.handleException(e);
+        if (status != null) {
+            return status.getStatus().getCode();
+        }
+        return CircuitBreaker.isFailure(e) ? Status.Code.UNAVAILABLE : Status.Code.INTERNAL;
+    }
+
+    private static String describe(Set<ConstraintViolation<UserRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static CreateUserFailure failure(int index, CreateUserRequest request, Status.Code code, String reason) {
+        return CreateUserFailure.newBuilder()
+                .setIndex(index)
+                .setEmail(request.getEmail())
+                .setCode(code.name())
+                .setReason(reason)
+                .build();
+    }
+
+    private final class ListUsersCall implements Runnable {
+
+        private final ServerCallStreamObserver<User> observer;
+        private final int pageSize;
+        private long afterId;
+        private Iterator<UserResponseDto> page = Collections.emptyIterator();
+        private boolean lastPage;
+        private volatile boolean done;
+
+        ListUsersCall(ServerCallStreamObserver<User> observer, long afterId, int pageSize) {
+            this.observer = observer;
+            this.afterId = afterId;
+            this.pageSize = pageSize;
+        }
+
+        void start() {
+            observer.setOnCancelHandler(() -> done = true);
+            observer.setOnReadyHandler(this);
+            run();
+        }
+
+        @Override
+        public synchronized void run() {
+            try {
+                while (!done && observer.isReady()) {
+                    if (page.hasNext()) {
+                        UserResponseDto user = page.next();
+                        afterId = user.getId();
+                        observer.onNext(userProtoMapper.toProto(user));
+                    } else if (lastPage) {
+                        done = true;
+                        observer.onCompleted();
+                    } else {
+                        List<UserResponseDto> users = userService.getUsersAfter(afterId, pageSize);
+                        lastPage = users.size() < pageSize;
+                        page = users.iterator();
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                throw e;
+            }
+        }
+    }
+}
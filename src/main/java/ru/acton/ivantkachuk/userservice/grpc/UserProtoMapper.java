@@ -0,0 +1,41 @@
+package ru.acton.ivantkachuk.userservice.grpc;
+
+import com.google.protobuf.Timestamp;
+import org.springframework.stereotype.Component;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.grpc.v1.CreateUserRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.User;
+
+@Component
+public class UserProtoMapper {
+
+    public User toProto(UserResponseDto user) {
+        User.Builder builder = User.newBuilder()
+                .setId(user.getId());
+        if (user.getName() != null) {
+            builder.setName(user.getName());
+        }
+        if (user.getEmail() != null) {
+            builder.setEmail(user.getEmail());
+        }
+        if (user.getAge() != null) {
+            builder.setAge(user.getAge());
+        }
+        if (user.getCreatedAt() != null) {
+            long millis = user.getCreatedAt().getTime();
+            builder.setCreatedAt(Timestamp.newBuilder()
+                    .setSeconds(Math.floorDiv(millis, 1000))
+                    .setNanos((int) Math.floorMod(millis, 1000) * 1_000_000));
+        }
+        return builder.build();
+    }
+
+    public UserRequestDto toRequestDto(CreateUserRequest request) {
+        return UserRequestDto.builder()
+                .name(request.getName())
+                .email(request.getEmail())
+                .age(request.getAge())
+                .build();
+    }
+}
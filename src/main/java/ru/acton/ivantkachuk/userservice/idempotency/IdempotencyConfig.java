@@ -0,0 +1,55 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityResolver;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(name = "userservice.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "userservice.idempotency.jdbc.enabled", havingValue = "true")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                                     PlatformTransactionManager transactionManager,
+                                                     IdempotencyProperties properties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, transactionManager, properties, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "userservice.idempotency.jdbc.enabled", havingValue = "false", matchIfMissing = true)
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                       ClientIdentityResolver clientIdentityResolver,
+                                                                       IdempotencyProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, clientIdentityResolver, properties, Clock.systemUTC(), meterRegistry));
+        registration.addUrlPatterns("/user");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "userservice.idempotency.jdbc.enabled", havingValue = "false", matchIfMissing = true)
+    public MeterBinder idempotencyStoreMetrics(InMemoryIdempotencyStore store) {
+        return registry -> Gauge.builder("userservice.idempotency.store.size", store, InMemoryIdempotencyStore::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,269 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityResolver;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore store;
+    private final ClientIdentityResolver clientIdentityResolver;
+    private final String header;
+    private final int maxKeyLength;
+    private final int maxBodyBytes;
+    private final long inFlightTimeoutNanos;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ClientIdentityResolver clientIdentityResolver,
+                             IdempotencyProperties properties,
+                             Clock clock,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.clientIdentityResolver = clientIdentityResolver;
+        this.header = properties.getHeader();
+        this.maxKeyLength = properties.getMaxKeyLength();
+        this.maxBodyBytes = (int) properties.getMaxBodySize().toBytes();
+        this.inFlightTimeoutNanos = properties.getInFlightTimeout().toNanos();
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(header) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestKey = request.getHeader(header);
+        if (requestKey.isBlank() || requestKey.length() > maxKeyLength) {
+            reject(response, HttpStatus.BAD_REQUEST, header + " must be 1-" + maxKeyLength + " characters long");
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxBodyBytes
+                ? null
+                : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            count("too-large");
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with " + header + " are limited to " + maxBodyBytes + " bytes");
+            return;
+        }
+        String key = scopedKey(clientIdentityResolver.resolve(request), requestKey);
+        String fingerprint = fingerprint(request, body);
+        HttpServletRequest bufferedRequest = new BufferedBodyRequest(request, body);
+        long deadline = System.nanoTime() + inFlightTimeoutNanos;
+        while (true) {
+            StoredResponse stored = find(key);
+            if (stored != null) {
+                replay(stored, fingerprint, response, "replayed");
+                return;
+            }
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> original = inFlight.putIfAbsent(key, execution);
+            if (original == null) {
+                execute(key, fingerprint, bufferedRequest, response, filterChain, execution);
+                return;
+            }
+            try {
+                StoredResponse result = original.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    replay(result, fingerprint, response, "waited");
+                    return;
+                }
+            } catch (TimeoutException e) {
+                count("in-flight-timeout");
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "A request with this " + header + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            } catch (ExecutionException e) {
+                log.debug("Original request for {} {} failed, retrying", header, requestKey, e);
+            }
+        }
+    }
+
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain, CompletableFuture<StoredResponse> execution)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper capturingResponse = new ContentCachingResponseWrapper(response);
+        StoredResponse result = null;
+        try {
+            filterChain.doFilter(request, capturingResponse);
+            if (isFinal(request, capturingResponse)) {
+                result = new StoredResponse(fingerprint, capturingResponse.getStatus(),
+                        capturingResponse.getContentType(), capturingResponse.getContentAsByteArray(), clock.millis());
+                save(key, result);
+            }
+            count("executed");
+            capturingResponse.copyBodyToResponse();
+        } finally {
+            inFlight.remove(key, execution);
+            execution.complete(result);
+        }
+    }
+
+    private static boolean isFinal(HttpServletRequest request, HttpServletResponse response) {
+        int status = response.getStatus();
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) != null
+                && status < HttpStatus.INTERNAL_SERVER_ERROR.value()
+                && status != HttpStatus.REQUEST_TIMEOUT.value()
+                && status != HttpStatus.TOO_EARLY.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value()
+                && !response.containsHeader(HttpHeaders.RETRY_AFTER);
+    }
+
+    private StoredResponse find(String key) {
+        try {
+            return store.find(key).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Unable to look up {} {}, executing the request", header, key, e);
+            return null;
+        }
+    }
+
+    private void save(String key, StoredResponse response) {
+        try {
+            store.save(key, response);
+        } catch (RuntimeException e) {
+            log.warn("Unable to store the response for {} {}", header, key, e);
+        }
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response, String outcome)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            count("mismatch");
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, header + " was already used for a different request");
+            return;
+        }
+        count(outcome);
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("userservice.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static String scopedKey(String clientId, String key) {
+        MessageDigest digest = sha256();
+        digest.update(clientId.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+        digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
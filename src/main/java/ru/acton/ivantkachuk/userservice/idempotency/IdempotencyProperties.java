@@ -0,0 +1,27 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private String header = "Idempotency-Key";
+    private int maxKeyLength = 255;
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 100_000;
+    private Duration inFlightTimeout = Duration.ofSeconds(10);
+    private Duration purgeInterval = Duration.ofMinutes(5);
+    private Jdbc jdbc = new Jdbc();
+
+    @Data
+    public static class Jdbc {
+        private boolean enabled = false;
+    }
+}
@@ -0,0 +1,12 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> find(String key);
+
+    void save(String key, StoredResponse response);
+
+    void purgeExpired();
+}
@@ -0,0 +1,72 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Slot(String key, StoredResponse response) {
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, StoredResponse> responses = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Slot> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.maxEntries = properties.getMaxEntries();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse response = responses.get(key);
+        if (response != null && isExpired(response, clock.millis())) {
+            responses.remove(key, response);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(response);
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        if (responses.putIfAbsent(key, response) != null) {
+            return;
+        }
+        insertionOrder.add(new Slot(key, response));
+        purgeExpired();
+        while (responses.size() > maxEntries) {
+            Slot oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            responses.remove(oldest.key(), oldest.response());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${userservice.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        long now = clock.millis();
+        Slot oldest;
+        while ((oldest = insertionOrder.peek()) != null && isExpired(oldest.response(), now)) {
+            if (insertionOrder.remove(oldest)) {
+                responses.remove(oldest.key(), oldest.response());
+            }
+        }
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    private boolean isExpired(StoredResponse response, long now) {
+        return now - response.createdAtMillis() >= ttlMillis;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.Optional;
+
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String SELECT = """
+            SELECT fingerprint, status, content_type, body, created_at
+            FROM idempotency_keys
+            WHERE idempotency_key = ? AND created_at > ?
+            """;
+    private static final String INSERT = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, content_type, body, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (idempotency_key) DO NOTHING
+            """;
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_keys WHERE created_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                IdempotencyProperties properties,
+                                Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return jdbcTemplate.query(SELECT, (resultSet, row) -> new StoredResponse(
+                        resultSet.getString("fingerprint"),
+                        resultSet.getInt("status"),
+                        resultSet.getString("content_type"),
+                        resultSet.getBytes("body"),
+                        resultSet.getTimestamp("created_at").getTime()),
+                key, expiredBefore()).stream().findFirst();
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        transaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT, key, response.fingerprint(),
+                response.status(), response.contentType(), response.body(), new Timestamp(response.createdAtMillis())));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${userservice.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        Integer purged = transaction.execute(status -> jdbcTemplate.update(DELETE_EXPIRED, expiredBefore()));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Timestamp expiredBefore() {
+        return new Timestamp(clock.millis() - ttlMillis);
+    }
+}
@@ -0,0 +1,4 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body, long createdAtMillis) {
+}
@@ -0,0 +1,110 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class GradientConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int minRttResetWindows;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final AtomicLong nextUpdate;
+
+    private volatile double limit;
+    private volatile long minRttNanos = Long.MAX_VALUE;
+    private volatile long lastRttNanos;
+    private int windowsSinceMinRttReset;
+
+    public GradientConcurrencyLimiter(LimiterProperties.Concurrency properties, LongSupplier nanoClock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.minRttResetWindows = properties.getMinRttResetWindows();
+        this.nanoClock = nanoClock;
+        this.limit = properties.getInitialLimit();
+        this.nextUpdate = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            drops.increment();
+        } else {
+            rttSum.add(rttNanos);
+            rttCount.increment();
+        }
+        long now = nanoClock.getAsLong();
+        long deadline = nextUpdate.get();
+        if (now >= deadline && nextUpdate.compareAndSet(deadline, now + windowNanos)) {
+            updateLimit();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getMinRttNanos() {
+        return minRttNanos == Long.MAX_VALUE ? 0 : minRttNanos;
+    }
+
+    public long getLastRttNanos() {
+        return lastRttNanos;
+    }
+
+    private void updateLimit() {
+        long count = rttCount.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        long dropCount = drops.sumThenReset();
+        double current = limit;
+        double next;
+        if (dropCount > 0) {
+            next = current * backoffRatio;
+        } else if (count == 0) {
+            return;
+        } else {
+            long rtt = Math.max(1, sum / count);
+            lastRttNanos = rtt;
+            if (++windowsSinceMinRttReset >= minRttResetWindows) {
+                windowsSinceMinRttReset = 0;
+                minRttNanos = rtt;
+            } else if (rtt < minRttNanos) {
+                minRttNanos = rtt;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / rtt));
+            double target = current * gradient + Math.sqrt(current);
+            next = current * (1 - smoothing) + target * smoothing;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,64 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityResolver;
+
+@Configuration
+@EnableConfigurationProperties(LimiterProperties.class)
+@ConditionalOnProperty(name = "userservice.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfig {
+
+    @Bean
+    public GradientConcurrencyLimiter gradientConcurrencyLimiter(LimiterProperties properties) {
+        return new GradientConcurrencyLimiter(properties.getConcurrency(), System::nanoTime);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "userservice.limiter.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public TokenBucketRateLimiter tokenBucketRateLimiter(LimiterProperties properties) {
+        return new TokenBucketRateLimiter(properties.getRateLimit(), System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(GradientConcurrencyLimiter concurrencyLimiter,
+                                                                         ObjectProvider<TokenBucketRateLimiter> rateLimiter,
+                                                                         ClientIdentityResolver clientIdentityResolver,
+                                                                         LimiterProperties properties,
+                                                                         MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(concurrencyLimiter, rateLimiter.getIfAvailable(),
+                        clientIdentityResolver, properties, meterRegistry));
+        registration.addUrlPatterns("/user", "/user/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder limiterMetrics(GradientConcurrencyLimiter concurrencyLimiter,
+                                      ObjectProvider<TokenBucketRateLimiter> rateLimiter) {
+        return registry -> {
+            Gauge.builder("userservice.limiter.concurrency.limit", concurrencyLimiter, GradientConcurrencyLimiter::getLimit)
+                    .register(registry);
+            Gauge.builder("userservice.limiter.concurrency.in-flight", concurrencyLimiter, GradientConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            Gauge.builder("userservice.limiter.concurrency.min-rtt", concurrencyLimiter, limiter -> limiter.getMinRttNanos() / 1_000_000.0)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("userservice.limiter.concurrency.rtt", concurrencyLimiter, limiter -> limiter.getLastRttNanos() / 1_000_000.0)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            rateLimiter.ifAvailable(limiter ->
+                    Gauge.builder("userservice.limiter.rate-limit.clients", limiter, TokenBucketRateLimiter::getTrackedClients)
+                            .register(registry));
+        };
+    }
+}
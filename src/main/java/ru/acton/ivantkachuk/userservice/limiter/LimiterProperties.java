@@ -0,0 +1,37 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.limiter")
+public class LimiterProperties {
+
+    private boolean enabled = true;
+    private Concurrency concurrency = new Concurrency();
+    private RateLimit rateLimit = new RateLimit();
+
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private double tolerance = 2.0;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+        private Duration window = Duration.ofMillis(200);
+        private int minRttResetWindows = 300;
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private double permitsPerSecond = 100;
+        private int burst = 200;
+        private int maxClients = 100_000;
+        private int evictionBatch = 64;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final GradientConcurrencyLimiter concurrencyLimiter;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ClientIdentityResolver clientIdentityResolver;
+    private final long concurrencyRetryAfterSeconds;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public LoadSheddingFilter(GradientConcurrencyLimiter concurrencyLimiter,
+                              TokenBucketRateLimiter rateLimiter,
+                              ClientIdentityResolver clientIdentityResolver,
+                              LimiterProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimiter = rateLimiter;
+        this.clientIdentityResolver = clientIdentityResolver;
+        this.concurrencyRetryAfterSeconds = Math.max(1, properties.getConcurrency().getRetryAfter().toSeconds());
+        this.rateLimited = Counter.builder("userservice.limiter.rejected")
+                .tag("reason", "rate-limit")
+                .register(meterRegistry);
+        this.shed = Counter.builder("userservice.limiter.rejected")
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(clientIdentityResolver.resolve(request));
+            if (waitNanos != TokenBucketRateLimiter.ALLOWED) {
+                rateLimited.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                        "Rate limit exceeded");
+                return;
+            }
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, concurrencyRetryAfterSeconds,
+                    "Service is overloaded, concurrency limit " + concurrencyLimiter.getLimit() + " reached");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,100 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class TokenBucketRateLimiter {
+
+    public static final long ALLOWED = 0;
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final int evictionBatch;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> evictionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger trackedClients = new AtomicInteger();
+
+    public TokenBucketRateLimiter(LimiterProperties.RateLimit properties, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / properties.getPermitsPerSecond());
+        this.burstNanos = emissionIntervalNanos * properties.getBurst();
+        this.maxClients = properties.getMaxClients();
+        this.evictionBatch = properties.getEvictionBatch();
+        this.nanoClock = nanoClock;
+    }
+
+    public long tryAcquire(String clientId) {
+        long now = nanoClock.getAsLong();
+        AtomicLong theoreticalArrival = buckets.get(clientId);
+        if (theoreticalArrival == null) {
+            theoreticalArrival = admit(clientId, now);
+            if (theoreticalArrival == null) {
+                return emissionIntervalNanos;
+            }
+        }
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    public int getTrackedClients() {
+        return trackedClients.get();
+    }
+
+    private AtomicLong admit(String clientId, long now) {
+        if (!reserveSlot(now)) {
+            return null;
+        }
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong existing = buckets.putIfAbsent(clientId, created);
+        if (existing != null) {
+            trackedClients.decrementAndGet();
+            return existing;
+        }
+        evictionOrder.add(clientId);
+        return created;
+    }
+
+    private boolean reserveSlot(long now) {
+        while (true) {
+            int current = trackedClients.get();
+            if (current < maxClients) {
+                if (trackedClients.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            } else if (!evictIdle(now)) {
+                return false;
+            }
+        }
+    }
+
+    private boolean evictIdle(long now) {
+        boolean evicted = false;
+        for (int i = 0; i < evictionBatch; i++) {
+            String clientId = evictionOrder.poll();
+            if (clientId == null) {
+                break;
+            }
+            AtomicLong theoreticalArrival = buckets.get(clientId);
+            if (theoreticalArrival.get() <= now && buckets.remove(clientId, theoreticalArrival)) {
+                trackedClients.decrementAndGet();
+                evicted = true;
+            } else {
+                evictionOrder.add(clientId);
+            }
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.acton.ivantkachuk.userservice.repository;
+
+import ru.acton.ivantkachuk.userservice.dto.SparseUserView;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserProjectionRepository {
+
+    Optional<SparseUserView> findFieldsById(Long id, UserField[] fields);
+    List<SparseUserView> findAllFields(UserField[] fields);
+}
@@ -0,0 +1,43 @@
+package ru.acton.ivantkachuk.userservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import ru.acton.ivantkachuk.userservice.dto.SparseUserView;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+@RequiredArgsConstructor
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<SparseUserView> findFieldsById(Long id, UserField[] fields) {
+        return query(fields, " where u.id = :id")
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> new SparseUserView(fields, tuple.toArray()));
+    }
+
+    @Override
+    public List<SparseUserView> findAllFields(UserField[] fields) {
+        return query(fields, "")
+                .getResultStream()
+                .map(tuple -> new SparseUserView(fields, tuple.toArray()))
+                .toList();
+    }
+
+    private TypedQuery<Tuple> query(UserField[] fields, String where) {
+        StringJoiner select = new StringJoiner(", ", "select ", " from User u" + where);
+        for (UserField field : fields) {
+            select.add("u." + field.getName());
+        }
+        return entityManager.createQuery(select.toString(), Tuple.class);
+    }
+}
@@ -1,14 +1,50 @@
 package ru.acton.ivantkachuk.userservice.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.acton.ivantkachuk.userservice.entity.User;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserProjectionRepository {
 
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query(value = "SELECT LEAST(age / 10, 10) AS bucket, COUNT(*) AS total FROM users GROUP BY bucket",
+            nativeQuery = true)
+    List<AgeBucketCount> countByAgeDecade();
+
+    @Query("select u.createdAt as day, count(u) as total from User u where u.createdAt >= :since group by u.createdAt")
+    List<DailySignupCount> countSignupsSince(LocalDate since);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id as id, u.name as name, u.email as email from User u")
+    Stream<SearchableUser> streamSearchableUsers();
+
+    interface AgeBucketCount {
+        int getBucket();
+        long getTotal();
+    }
+
+    interface DailySignupCount {
+        LocalDate getDay();
+        long getTotal();
+    }
+
+    interface SearchableUser {
+        Long getId();
+        String getName();
+        String getEmail();
+    }
 }
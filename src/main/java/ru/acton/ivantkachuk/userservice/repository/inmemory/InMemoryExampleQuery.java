@@ -0,0 +1,225 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import ru.acton.ivantkachuk.userservice.entity.User;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+final class InMemoryExampleQuery<T> implements FluentQuery.FetchableFluentQuery<T> {
+
+    private static final List<String> PROPERTIES = List.of("id", "name", "email", "age", "createdAt");
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private final List<User> matches;
+    private final Sort sort;
+    private final int limit;
+    private final Set<String> properties;
+    private final Function<User, T> mapper;
+
+    private InMemoryExampleQuery(List<User> matches, Sort sort, int limit, Set<String> properties,
+                                 Function<User, T> mapper) {
+        this.matches = matches;
+        this.sort = sort;
+        this.limit = limit;
+        this.properties = properties;
+        this.mapper = mapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S extends User> InMemoryExampleQuery<S> of(List<User> matches) {
+        return new InMemoryExampleQuery<>(matches, Sort.unsorted(), 0, Set.copyOf(PROPERTIES), user -> (S) user);
+    }
+
+    static boolean matches(Example<? extends User> example, ExampleMatcherAccessor accessor, User user) {
+        boolean allMatching = example.getMatcher().isAllMatching();
+        boolean constrained = false;
+        for (String property : PROPERTIES) {
+            if (accessor.isIgnoredPath(property)) {
+                continue;
+            }
+            Optional<Object> expected = accessor.getValueTransformerForPath(property)
+                    .apply(Optional.ofNullable(property(example.getProbe(), property)));
+            if (expected.isEmpty() && accessor.getNullHandler() == ExampleMatcher.NullHandler.IGNORE) {
+                continue;
+            }
+            constrained = true;
+            boolean matched = matches(accessor, property, expected.orElse(null), property(user, property));
+            if (matched != allMatching) {
+                return matched;
+            }
+        }
+        return allMatching || !constrained;
+    }
+
+    @Override
+    public FetchableFluentQuery<T> sortBy(Sort sort) {
+        return new InMemoryExampleQuery<>(matches, this.sort.and(sort), limit, properties, mapper);
+    }
+
+    @Override
+    public FetchableFluentQuery<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        return new InMemoryExampleQuery<>(matches, sort, limit, properties, mapper);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> FetchableFluentQuery<R> as(Class<R> resultType) {
+        Function<User, R> projection;
+        if (resultType.isAssignableFrom(User.class)) {
+            projection = user -> (R) user;
+        } else if (resultType.isInterface()) {
+            projection = user -> PROJECTIONS.createProjection(resultType, user);
+        } else {
+            projection = dtoProjection(resultType);
+        }
+        return new InMemoryExampleQuery<>(matches, sort, limit, properties, projection);
+    }
+
+    @Override
+    public FetchableFluentQuery<T> project(Collection<String> properties) {
+        for (String property : properties) {
+            if (!PROPERTIES.contains(property)) {
+                throw new IllegalArgumentException("Unknown property to project: " + property);
+            }
+        }
+        Set<String> projected = new HashSet<>(properties);
+        projected.add("id");
+        return new InMemoryExampleQuery<>(matches, sort, limit, Set.copyOf(projected), mapper);
+    }
+
+    @Override
+    public T oneValue() {
+        List<T> results = limited(sorted(sort)).limit(2).map(this::map).toList();
+        if (results.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1);
+        }
+        return results.isEmpty() ? null : results.getFirst();
+    }
+
+    @Override
+    public T firstValue() {
+        return sorted(sort).findFirst().map(this::map).orElse(null);
+    }
+
+    @Override
+    public List<T> all() {
+        return stream().toList();
+    }
+
+    @Override
+    public Page<T> page(Pageable pageable) {
+        Sort pageSort = pageable.getSort().isSorted() ? pageable.getSort() : sort;
+        return InMemoryUserRepository.page(sorted(pageSort).map(this::map).toList(), pageable);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return limited(sorted(sort)).map(this::map);
+    }
+
+    @Override
+    public long count() {
+        return matches.size();
+    }
+
+    @Override
+    public boolean exists() {
+        return !matches.isEmpty();
+    }
+
+    private T map(User user) {
+        if (properties.size() == PROPERTIES.size()) {
+            return mapper.apply(user);
+        }
+        return mapper.apply(new User(user.getId(),
+                properties.contains("name") ? user.getName() : null,
+                properties.contains("email") ? user.getEmail() : null,
+                properties.contains("age") ? user.getAge() : null,
+                properties.contains("createdAt") ? user.getCreatedAt() : null));
+    }
+
+    private Stream<User> sorted(Sort sort) {
+        return matches.stream().sorted(InMemoryUserRepository.comparator(sort));
+    }
+
+    private Stream<User> limited(Stream<User> users) {
+        return limit > 0 ? users.limit(limit) : users;
+    }
+
+    private static boolean matches(ExampleMatcherAccessor accessor, String property, Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (!(expected instanceof String pattern)) {
+            return Objects.equals(expected, actual);
+        }
+        String value = (String) actual;
+        if (accessor.isIgnoreCaseForPath(property)) {
+            pattern = pattern.toLowerCase();
+            value = value.toLowerCase();
+        }
+        return switch (accessor.getStringMatcherForPath(property)) {
+            case DEFAULT, EXACT -> value.equals(pattern);
+            case STARTING -> value.startsWith(pattern);
+            case ENDING -> value.endsWith(pattern);
+            case CONTAINING -> value.contains(pattern);
+            case REGEX -> throw new IllegalArgumentException("Unsupported StringMatcher REGEX");
+        };
+    }
+
+    private static <R> Function<User, R> dtoProjection(Class<R> resultType) {
+        Constructor<R> constructor = BeanUtils.getResolvableConstructor(resultType);
+        if (constructor.getParameterCount() == 0) {
+            return user -> {
+                R result = BeanUtils.instantiateClass(constructor);
+                BeanUtils.copyProperties(user, result);
+                return result;
+            };
+        }
+        String[] names = BeanUtils.getParameterNames(constructor);
+        for (String name : names) {
+            if (!PROPERTIES.contains(name)) {
+                throw new IllegalArgumentException("Cannot project User onto " + resultType.getName()
+                        + ", constructor parameter " + name + " is not a User property");
+            }
+        }
+        return user -> {
+            Object[] arguments = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                arguments[i] = property(user, names[i]);
+            }
+            return BeanUtils.instantiateClass(constructor, arguments);
+        };
+    }
+
+    private static Object property(User user, String property) {
+        return switch (property) {
+            case "id" -> user.getId();
+            case "name" -> user.getName();
+            case "email" -> user.getEmail();
+            case "age" -> user.getAge();
+            case "createdAt" -> user.getCreatedAt();
+            default -> throw new IllegalArgumentException("Unknown property: " + property);
+        };
+    }
+}
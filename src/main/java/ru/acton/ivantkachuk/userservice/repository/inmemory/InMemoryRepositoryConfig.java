@@ -0,0 +1,22 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("in-memory")
+@EnableConfigurationProperties(InMemoryRepositoryProperties.class)
+public class InMemoryRepositoryConfig {
+
+    @Bean
+    public InMemoryUserRepository inMemoryUserRepository(InMemoryRepositoryProperties properties) {
+        return new InMemoryUserRepository(properties);
+    }
+
+    @Bean
+    public InMemoryTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.in-memory")
+public class InMemoryRepositoryProperties {
+
+    private Duration readLatency = Duration.ZERO;
+    private Duration writeLatency = Duration.ZERO;
+    private Duration latencyJitter = Duration.ZERO;
+}
@@ -0,0 +1,72 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    private static final class InMemoryTransaction implements SmartTransactionObject {
+        private UndoLog undoLog;
+
+        @Override
+        public boolean isRollbackOnly() {
+            return undoLog.isRollbackOnly();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        InMemoryTransaction transaction = new InMemoryTransaction();
+        transaction.undoLog = UndoLog.current();
+        return transaction;
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((InMemoryTransaction) transaction).undoLog != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        UndoLog undoLog = new UndoLog();
+        ((InMemoryTransaction) transaction).undoLog = undoLog;
+        TransactionSynchronizationManager.bindResource(UndoLog.class, undoLog);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((InMemoryTransaction) transaction).undoLog = null;
+        return TransactionSynchronizationManager.unbindResource(UndoLog.class);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(UndoLog.class, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        ((InMemoryTransaction) status.getTransaction()).undoLog.undo();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((InMemoryTransaction) status.getTransaction()).undoLog.setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(UndoLog.class);
+    }
+}
@@ -0,0 +1,474 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.orm.jpa.JpaObjectRetrievalFailureException;
+import ru.acton.ivantkachuk.userservice.dto.SparseUserView;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
+import ru.acton.ivantkachuk.userservice.entity.User;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final int MAX_LENGTH = 50;
+
+    private record AgeBucket(int bucket, long total) implements AgeBucketCount {
+        @Override
+        public int getBucket() {
+            return bucket;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    private record DailySignups(LocalDate day, long total) implements DailySignupCount {
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    private record Searchable(Long id, String name, String email) implements SearchableUser {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    private record RowKey(InMemoryUserRepository repository, Long id) {
+    }
+
+    private final ConcurrentSkipListMap<Long, User> usersById = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final long readLatencyNanos;
+    private final long writeLatencyNanos;
+    private final long jitterNanos;
+
+    public InMemoryUserRepository(InMemoryRepositoryProperties properties) {
+        this.readLatencyNanos = properties.getReadLatency().toNanos();
+        this.writeLatencyNanos = properties.getWriteLatency().toNanos();
+        this.jitterNanos = properties.getLatencyJitter().toNanos();
+    }
+
+    @Override
+    public <S extends User> S save(S user) {
+        simulateLatency(writeLatencyNanos);
+        validate(user);
+        if (user.getId() == null) {
+            user.setId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(user.getId(), Math::max);
+        }
+        if (user.getCreatedAt() == null) {
+            user.setCreatedAt(LocalDate.now());
+        }
+        Long id = user.getId();
+        writeLock.lock();
+        try {
+            Long owner = idsByEmail.get(user.getEmail());
+            if (owner != null && !owner.equals(id)) {
+                throw new DataIntegrityViolationException(
+                        "duplicate key value violates unique constraint \"users_email_key\": " + user.getEmail());
+            }
+            User previous = usersById.put(id, copy(user));
+            if (previous != null && !previous.getEmail().equals(user.getEmail())) {
+                idsByEmail.remove(previous.getEmail(), id);
+            }
+            idsByEmail.put(user.getEmail(), id);
+            recordUndo(id, previous);
+        } finally {
+            writeLock.unlock();
+        }
+        return user;
+    }
+
+    @Override
+    public <S extends User> List<S> saveAll(Iterable<S> users) {
+        List<S> saved = new ArrayList<>();
+        for (S user : users) {
+            saved.add(save(user));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends User> S saveAndFlush(S user) {
+        return save(user);
+    }
+
+    @Override
+    public <S extends User> List<S> saveAllAndFlush(Iterable<S> users) {
+        return saveAll(users);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        simulateLatency(readLatencyNanos);
+        return Optional.ofNullable(usersById.get(id)).map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        simulateLatency(readLatencyNanos);
+        Long id = idsByEmail.get(email);
+        return Optional.ofNullable(id == null ? null : usersById.get(id))
+                .filter(user -> user.getEmail().equals(email))
+                .map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        simulateLatency(readLatencyNanos);
+        return usersById.containsKey(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        simulateLatency(readLatencyNanos);
+        return idsByEmail.containsKey(email);
+    }
+
+    @Override
+    public List<User> findAll() {
+        simulateLatency(readLatencyNanos);
+        return usersById.values().stream().map(InMemoryUserRepository::copy).toList();
+    }
+
+    @Override
+    public List<User> findAllById(Iterable<Long> ids) {
+        simulateLatency(readLatencyNanos);
+        List<User> users = new ArrayList<>();
+        for (Long id : ids) {
+            User user = usersById.get(id);
+            if (user != null) {
+                users.add(copy(user));
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public List<User> findAll(Sort sort) {
+        simulateLatency(readLatencyNanos);
+        return usersById.values().stream()
+                .sorted(comparator(sort))
+                .map(InMemoryUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public Page<User> findAll(Pageable pageable) {
+        return page(findAll(pageable.getSort()), pageable);
+    }
+
+    @Override
+    public List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        simulateLatency(readLatencyNanos);
+        Stream<User> users = usersById.tailMap(id, false).values().stream();
+        if (limit.isLimited()) {
+            users = users.limit(limit.max());
+        }
+        return users.map(InMemoryUserRepository::copy).toList();
+    }
+
+    @Override
+    public long count() {
+        simulateLatency(readLatencyNanos);
+        return usersById.size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        simulateLatency(writeLatencyNanos);
+        remove(id);
+    }
+
+    @Override
+    public void delete(User user) {
+        if (user.getId() != null) {
+            deleteById(user.getId());
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends User> users) {
+        users.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        simulateLatency(writeLatencyNanos);
+        usersById.keySet().forEach(this::remove);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<User> users) {
+        deleteAll(users);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public User getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public User getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public User getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new JpaObjectRetrievalFailureException(
+                new EntityNotFoundException("Unable to find User with id " + id)));
+    }
+
+    @Override
+    public List<AgeBucketCount> countByAgeDecade() {
+        simulateLatency(readLatencyNanos);
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (User user : usersById.values()) {
+            buckets.merge(Math.min(user.getAge() / 10, 10), 1L, Long::sum);
+        }
+        List<AgeBucketCount> counts = new ArrayList<>();
+        buckets.forEach((bucket, total) -> counts.add(new AgeBucket(bucket, total)));
+        return counts;
+    }
+
+    @Override
+    public List<DailySignupCount> countSignupsSince(LocalDate since) {
+        simulateLatency(readLatencyNanos);
+        Map<LocalDate, Long> days = new TreeMap<>();
+        for (User user : usersById.values()) {
+            if (user.getCreatedAt() != null && !user.getCreatedAt().isBefore(since)) {
+                days.merge(user.getCreatedAt(), 1L, Long::sum);
+            }
+        }
+        List<DailySignupCount> counts = new ArrayList<>();
+        days.forEach((day, total) -> counts.add(new DailySignups(day, total)));
+        return counts;
+    }
+
+    @Override
+    public Stream<SearchableUser> streamSearchableUsers() {
+        simulateLatency(readLatencyNanos);
+        return usersById.values().stream()
+                .map(user -> new Searchable(user.getId(), user.getName(), user.getEmail()));
+    }
+
+    @Override
+    public Optional<SparseUserView> findFieldsById(Long id, UserField[] fields) {
+        simulateLatency(readLatencyNanos);
+        return Optional.ofNullable(usersById.get(id)).map(user -> view(user, fields));
+    }
+
+    @Override
+    public List<SparseUserView> findAllFields(UserField[] fields) {
+        simulateLatency(readLatencyNanos);
+        return usersById.values().stream().map(user -> view(user, fields)).toList();
+    }
+
+    @Override
+    public <S extends User> Optional<S> findOne(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::one);
+    }
+
+    @Override
+    public <S extends User> List<S> findAll(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::all);
+    }
+
+    @Override
+    public <S extends User> List<S> findAll(Example<S> example, Sort sort) {
+        return findBy(example, query -> query.sortBy(sort).all());
+    }
+
+    @Override
+    public <S extends User> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return findBy(example, query -> query.page(pageable));
+    }
+
+    @Override
+    public <S extends User> long count(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::count);
+    }
+
+    @Override
+    public <S extends User> boolean exists(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::exists);
+    }
+
+    @Override
+    public <S extends User, R> R findBy(Example<S> example,
+                                        Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        simulateLatency(readLatencyNanos);
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        List<User> matches = usersById.values().stream()
+                .filter(user -> InMemoryExampleQuery.matches(example, accessor, user))
+                .map(InMemoryUserRepository::copy)
+                .toList();
+        return queryFunction.apply(InMemoryExampleQuery.of(matches));
+    }
+
+    static <T> Page<T> page(List<T> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted);
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    private void remove(Long id) {
+        writeLock.lock();
+        try {
+            User removed = usersById.remove(id);
+            if (removed != null) {
+                idsByEmail.remove(removed.getEmail(), id);
+                recordUndo(id, removed);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void recordUndo(Long id, User previous) {
+        UndoLog undoLog = UndoLog.current();
+        if (undoLog != null) {
+            undoLog.recordOnce(new RowKey(this, id), () -> restore(id, previous));
+        }
+    }
+
+    private void restore(Long id, User previous) {
+        writeLock.lock();
+        try {
+            User current = previous != null ? usersById.put(id, previous) : usersById.remove(id);
+            if (current != null) {
+                idsByEmail.remove(current.getEmail(), id);
+            }
+            if (previous != null) {
+                idsByEmail.put(previous.getEmail(), id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void simulateLatency(long baseNanos) {
+        long nanos = baseNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos + 1) : 0);
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    private static void validate(User user) {
+        if (user.getName() == null || user.getEmail() == null || user.getAge() == null) {
+            throw new DataIntegrityViolationException("null value violates not-null constraint on users: " + user);
+        }
+        if (user.getName().length() > MAX_LENGTH || user.getEmail().length() > MAX_LENGTH) {
+            throw new DataIntegrityViolationException(
+                    "value too long for type character varying(" + MAX_LENGTH + ") on users: " + user);
+        }
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getCreatedAt());
+    }
+
+    private static SparseUserView view(User user, UserField[] fields) {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = switch (fields[i]) {
+                case ID -> user.getId();
+                case NAME -> user.getName();
+                case EMAIL -> user.getEmail();
+                case AGE -> user.getAge();
+                case CREATED_AT -> user.getCreatedAt();
+            };
+        }
+        return new SparseUserView(fields, values);
+    }
+
+    static Comparator<User> comparator(Sort sort) {
+        Comparator<User> comparator = Comparator.comparing(User::getId);
+        List<Sort.Order> orders = sort.toList();
+        for (int i = orders.size() - 1; i >= 0; i--) {
+            Sort.Order order = orders.get(i);
+            Comparator<User> byProperty = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(User::getId);
+                case "name" -> Comparator.comparing(User::getName);
+                case "email" -> Comparator.comparing(User::getEmail);
+                case "age" -> Comparator.comparing(User::getAge);
+                case "createdAt" -> Comparator.comparing(User::getCreatedAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException("Unknown sort property: " + order.getProperty());
+            };
+            comparator = (order.isAscending() ? byProperty : byProperty.reversed()).thenComparing(comparator);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+final class UndoLog {
+
+    private final Set<Object> recorded = new HashSet<>();
+    private final Deque<Runnable> undoActions = new ArrayDeque<>();
+    private boolean rollbackOnly;
+
+    static UndoLog current() {
+        return (UndoLog) TransactionSynchronizationManager.getResource(UndoLog.class);
+    }
+
+    void recordOnce(Object key, Runnable undo) {
+        if (recorded.add(key)) {
+            undoActions.push(undo);
+        }
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    void undo() {
+        while (!undoActions.isEmpty()) {
+            undoActions.pop().run();
+        }
+        recorded.clear();
+    }
+}
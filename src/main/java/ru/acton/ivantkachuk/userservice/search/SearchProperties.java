@@ -0,0 +1,18 @@
+package ru.acton.ivantkachuk.userservice.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.search")
+public class SearchProperties {
+
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+    private boolean periodicRebuild = false;
+    private float minSimilarity = 0.3f;
+    private int defaultLimit = 10;
+    private int maxLimit = 100;
+    private int expectedUsers = 100_000;
+}
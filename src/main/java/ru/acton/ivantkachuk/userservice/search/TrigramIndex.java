@@ -0,0 +1,379 @@
+package ru.acton.ivantkachuk.userservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TrigramIndex {
+
+    public record Match(long userId, String name, String email, float score) {
+    }
+
+    private static final int MISSING = LongIntHashMap.MISSING;
+    private static final int NAME = 0;
+    private static final int EMAIL = 1;
+    private static final long[] NO_GRAMS = new long[0];
+    private static final int COPY_BATCH = 4096;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] userIds;
+    private String[] names;
+    private String[] emails;
+    private int[] gramCounts;
+    private long[] deleted;
+    private int docCount;
+    private int deletedCount;
+    private final LongIntHashMap docByUserId;
+    private LongIntHashMap removedWhileBuilding;
+
+    private final LongIntHashMap listByGram;
+    private int[][] postings;
+    private int[] postingSizes;
+    private int listCount;
+
+    public TrigramIndex(int expectedDocuments) {
+        int capacity = Math.max(16, expectedDocuments);
+        userIds = new long[capacity];
+        names = new String[capacity];
+        emails = new String[capacity];
+        gramCounts = new int[capacity << 1];
+        deleted = new long[(capacity >>> 6) + 1];
+        docByUserId = new LongIntHashMap(capacity);
+        removedWhileBuilding = new LongIntHashMap(16);
+        listByGram = new LongIntHashMap(4096);
+        postings = new int[4096][];
+        postingSizes = new int[4096];
+    }
+
+    public void upsert(long userId, String name, String email) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(userId);
+            addDocument(userId, name, email);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean addIfAbsent(long userId, String name, String email) {
+        lock.writeLock().lock();
+        try {
+            if (docByUserId.containsKey(userId)
+                    || (removedWhileBuilding != null && removedWhileBuilding.containsKey(userId))) {
+                return false;
+            }
+            addDocument(userId, name, email);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(userId);
+            if (removedWhileBuilding != null) {
+                removedWhileBuilding.put(userId, 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markBuilt() {
+        lock.writeLock().lock();
+        try {
+            removedWhileBuilding = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            return deletedCount > 1024 && deletedCount > docCount / 4;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void copyLiveTo(TrigramIndex target) {
+        long[] batchIds = new long[COPY_BATCH];
+        String[] batchNames = new String[COPY_BATCH];
+        String[] batchEmails = new String[COPY_BATCH];
+        int from = 0;
+        while (true) {
+            int copied = 0;
+            lock.readLock().lock();
+            try {
+                if (from >= docCount) {
+                    return;
+                }
+                int to = Math.min(docCount, from + COPY_BATCH);
+                for (int doc = from; doc < to; doc++) {
+                    if (!isDeleted(doc)) {
+                        batchIds[copied] = userIds[doc];
+                        batchNames[copied] = names[doc];
+                        batchEmails[copied] = emails[doc];
+                        copied++;
+                    }
+                }
+                from = to;
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (int i = 0; i < copied; i++) {
+                target.addIfAbsent(batchIds[i], batchNames[i], batchEmails[i]);
+            }
+        }
+    }
+
+    public List<Match> search(String query, int limit, float minSimilarity) {
+        long[] grams = trigrams(query);
+        if (grams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            IntCounter hits = new IntCounter(64);
+            for (long gram : grams) {
+                int list = listByGram.get(gram);
+                if (list == MISSING) {
+                    continue;
+                }
+                int[] entries = postings[list];
+                for (int i = 0, size = postingSizes[list]; i < size; i++) {
+                    hits.increment(entries[i]);
+                }
+            }
+            TopK topK = new TopK(limit);
+            for (int i = 0; i < hits.size(); i++) {
+                int entry = hits.keyAt(i);
+                int other = entry ^ 1;
+                if ((entry & 1) == EMAIL && hits.get(other) > 0) {
+                    continue;
+                }
+                int doc = entry >>> 1;
+                if (isDeleted(doc)) {
+                    continue;
+                }
+                float similarity = Math.max(similarity(hits.get(entry), entry, grams.length),
+                        similarity(hits.get(other), other, grams.length));
+                if (similarity >= minSimilarity) {
+                    topK.offer(doc, similarity);
+                }
+            }
+            return topK.toMatches();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float similarity(int shared, int entry, int queryGrams) {
+        if (shared == 0) {
+            return 0;
+        }
+        return (float) shared / (queryGrams + gramCounts[entry] - shared);
+    }
+
+    static long[] trigrams(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_GRAMS;
+        }
+        String normalized = text.toLowerCase();
+        long[] grams = new long[normalized.length() + 2];
+        int count = 0;
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !Character.isLetterOrDigit(normalized.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(normalized.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                char previous = ' ';
+                char current = ' ';
+                for (int i = start; i <= end; i++) {
+                    char next = i < end ? normalized.charAt(i) : ' ';
+                    if (count == grams.length) {
+                        grams = Arrays.copyOf(grams, count << 1);
+                    }
+                    grams[count++] = ((long) previous << 32) | ((long) current << 16) | next;
+                    previous = current;
+                    current = next;
+                }
+            }
+            start = end;
+        }
+        Arrays.sort(grams, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || grams[unique - 1] != grams[i]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+
+    private void addDocument(long userId, String name, String email) {
+        int doc = docCount++;
+        ensureDocumentCapacity(docCount);
+        userIds[doc] = userId;
+        names[doc] = name;
+        emails[doc] = email;
+        addField(doc, NAME, name);
+        addField(doc, EMAIL, email);
+        docByUserId.put(userId, doc);
+    }
+
+    private void addField(int doc, int field, String value) {
+        int entry = (doc << 1) | field;
+        long[] grams = trigrams(value);
+        gramCounts[entry] = grams.length;
+        for (long gram : grams) {
+            int list = listByGram.get(gram);
+            if (list == MISSING) {
+                list = newPostingList();
+                listByGram.put(gram, list);
+            }
+            appendPosting(list, entry);
+        }
+    }
+
+    private void removeDocument(long userId) {
+        int doc = docByUserId.remove(userId);
+        if (doc != MISSING) {
+            deleted[doc >>> 6] |= 1L << doc;
+            names[doc] = null;
+            emails[doc] = null;
+            deletedCount++;
+        }
+    }
+
+    private boolean isDeleted(int doc) {
+        return (deleted[doc >>> 6] & (1L << doc)) != 0;
+    }
+
+    private int newPostingList() {
+        if (listCount == postings.length) {
+            postings = Arrays.copyOf(postings, listCount << 1);
+            postingSizes = Arrays.copyOf(postingSizes, listCount << 1);
+        }
+        postings[listCount] = new int[4];
+        return listCount++;
+    }
+
+    private void appendPosting(int list, int entry) {
+        int[] entries = postings[list];
+        int size = postingSizes[list];
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size + (size >>> 1) + 1);
+            postings[list] = entries;
+        }
+        entries[size] = entry;
+        postingSizes[list] = size + 1;
+    }
+
+    private void ensureDocumentCapacity(int required) {
+        if (required <= userIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, userIds.length + (userIds.length >>> 1));
+        userIds = Arrays.copyOf(userIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        gramCounts = Arrays.copyOf(gramCounts, capacity << 1);
+        deleted = Arrays.copyOf(deleted, (capacity >>> 6) + 1);
+    }
+
+    private final class TopK {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopK(int limit) {
+            docs = new int[limit];
+            scores = new float[limit];
+        }
+
+        void offer(int doc, float score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Match> toMatches() {
+            List<Match> matches = new ArrayList<>(size);
+            while (size > 0) {
+                int doc = docs[0];
+                matches.add(new Match(userIds[doc], names[doc], emails[doc], scores[0]));
+                size--;
+                docs[0] = docs[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return matches.reversed();
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package ru.acton.ivantkachuk.userservice.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.dto.UserSearchResultDto;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SearchProperties properties;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("search-index-compaction").daemon(true).factory());
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final Object maintenanceLock = new Object();
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private volatile TrigramIndex current;
+    private volatile TrigramIndex building;
+
+    public UserSearchIndex(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           SearchProperties properties) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    public List<UserSearchResultDto> search(String query, Integer limit) {
+        TrigramIndex index = current;
+        if (index == null) {
+            throw new ServiceUnavailableException("Search index is being built", Duration.ofSeconds(5));
+        }
+        int effectiveLimit = Math.min(limit == null ? properties.getDefaultLimit() : limit, properties.getMaxLimit());
+        return index.search(query, effectiveLimit, properties.getMinSimilarity()).stream()
+                .map(match -> UserSearchResultDto.builder()
+                        .id(match.userId())
+                        .name(match.name())
+                        .email(match.email())
+                        .score(match.score())
+                        .build())
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        TrigramIndex index;
+        swapLock.readLock().lock();
+        try {
+            index = current;
+            apply(index, event);
+            apply(building, event);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (index != null && index.needsCompaction() && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${userservice.search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (current != null && !properties.isPeriodicRebuild()) {
+            return;
+        }
+        try {
+            replace("database", index -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserRepository.SearchableUser> users = userRepository.streamSearchableUsers()) {
+                    users.forEach(user -> index.addIfAbsent(user.getId(), user.getName(), user.getEmail()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Search index rebuild failed, keeping the previous index", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    void compact() {
+        try {
+            synchronized (maintenanceLock) {
+                TrigramIndex source = current;
+                if (source != null && source.needsCompaction()) {
+                    replace("compaction", source::copyLiveTo);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search index compaction failed, keeping the current index", e);
+        } finally {
+            compactionScheduled.set(false);
+        }
+    }
+
+    private void replace(String source, Consumer<TrigramIndex> loader) {
+        synchronized (maintenanceLock) {
+            TrigramIndex index = new TrigramIndex(properties.getExpectedUsers());
+            swap(current, index);
+            long start = System.nanoTime();
+            try {
+                loader.accept(index);
+                index.markBuilt();
+                swap(index, null);
+                log.info("Search index built from {} with {} users in {} ms", source, index.size(),
+                        Duration.ofNanos(System.nanoTime() - start).toMillis());
+            } finally {
+                if (building != null) {
+                    swap(current, null);
+                }
+            }
+        }
+    }
+
+    private void swap(TrigramIndex nextCurrent, TrigramIndex nextBuilding) {
+        swapLock.writeLock().lock();
+        try {
+            current = nextCurrent;
+            building = nextBuilding;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(TrigramIndex index, UserChangedEvent event) {
+        if (index == null) {
+            return;
+        }
+        UserResponseDto user = event.current();
+        if (user == null) {
+            index.remove(event.id());
+        } else {
+            index.upsert(user.getId(), user.getName(), user.getEmail());
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package ru.acton.ivantkachuk.userservice.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.acton.ivantkachuk.userservice.cache.CachedUser;
+import ru.acton.ivantkachuk.userservice.cache.UserReadCache;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreaker;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityFoundWithEmailException;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundException;
+import ru.acton.ivantkachuk.userservice.dto.SparseUserView;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
 import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
 import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
 import ru.acton.ivantkachuk.userservice.entity.User;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundWithEmailException;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
 import ru.acton.ivantkachuk.userservice.mapper.UserMapper;
 import ru.acton.ivantkachuk.userservice.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -21,40 +39,138 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final UserReadCache userReadCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserResponseDto create(UserRequestDto userRequestDto) {
-        if (userRepository.existsByEmail(userRequestDto.getEmail())) {
-            throw new EntityFoundWithEmailException(userRequestDto.getEmail());
-        }
-        User savedUser = userRepository.save(userMapper.toEntity(userRequestDto));
-        return userMapper.toDto(savedUser);
+        User savedUser = circuitBreaker.execute(() -> {
+            if (userRepository.existsByEmail(userRequestDto.getEmail())) {
+                throw new EntityFoundWithEmailException(userRequestDto.getEmail());
+            }
+            return userRepository.save(userMapper.toEntity(userRequestDto));
+        });
+        UserResponseDto created = userMapper.toDto(savedUser);
+        eventPublisher.publishEvent(UserChangedEvent.created(created));
+        return created;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponseDto getUserById(Long id) {
-        User user = userRepository.findById(id)
+        return readUserById(id).user();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CachedUser readUserById(Long id) {
+        return readThrough(userReadCache.getById(id), () -> {
+            Optional<User> user = circuitBreaker.execute(() -> userRepository.findById(id));
+            if (user.isEmpty()) {
+                userReadCache.evict(id, null);
+                throw new EntityNotFoundException(id);
+            }
+            return userMapper.toDto(user.get());
+        });
+    }
+
+    public SparseUserView getUserFieldsById(Long id, UserField[] fields) {
+        return circuitBreaker.execute(() -> userRepository.findFieldsById(id, fields))
                 .orElseThrow(() -> new EntityNotFoundException(id));
-        return userMapper.toDto(user);
     }
 
     public UserResponseDto updateUser(Long id, UserRequestDto userRequestDto) {
-        User user = userRepository.findById(id)
+        User user = circuitBreaker.execute(() -> userRepository.findById(id))
                 .orElseThrow(() -> new EntityNotFoundException(id));
+        UserResponseDto previous = userMapper.toDto(user);
         user.setEmail(userRequestDto.getEmail());
-        User save = userRepository.save(user);
-        return userMapper.toDto(save);
+        User save = circuitBreaker.execute(() -> userRepository.save(user));
+        UserResponseDto updated = userMapper.toDto(save);
+        eventPublisher.publishEvent(UserChangedEvent.updated(previous, updated));
+        return updated;
     }
 
     public List<UserResponseDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
+        List<User> users = circuitBreaker.execute(() -> userRepository.findAll());
         return userMapper.toDto(users);
     }
 
+    public List<UserResponseDto> getUsersByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, UserResponseDto> users = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long id : uniqueIds) {
+            Optional<UserReadCache.Entry> cached = userReadCache.getById(id);
+            if (cached.isPresent() && userReadCache.isFresh(cached.get())) {
+                users.put(id, cached.get().user());
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<User> loaded = circuitBreaker.execute(() -> userRepository.findAllById(misses));
+            for (User user : loaded) {
+                users.put(user.getId(), userReadCache.put(userMapper.toDto(user)));
+            }
+        }
+        List<UserResponseDto> ordered = new ArrayList<>(users.size());
+        for (Long id : uniqueIds) {
+            UserResponseDto user = users.get(id);
+            if (user != null) {
+                ordered.add(user);
+            }
+        }
+        return ordered;
+    }
+
+    public List<UserResponseDto> getUsersAfter(Long afterId, int limit) {
+        List<User> users = circuitBreaker.execute(() ->
+                userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)));
+        return userMapper.toDto(users);
+    }
+
+    public List<SparseUserView> getAllUserFields(UserField[] fields) {
+        return circuitBreaker.execute(() -> userRepository.findAllFields(fields));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponseDto getUserByEmail(String email) {
-        return userMapper.toDto(userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundWithEmailException(email)));
+        return readUserByEmail(email).user();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CachedUser readUserByEmail(String email) {
+        return readThrough(userReadCache.getByEmail(email), () -> {
+            Optional<User> user = circuitBreaker.execute(() -> userRepository.findByEmail(email));
+            if (user.isEmpty()) {
+                userReadCache.evict(null, email);
+                throw new EntityNotFoundWithEmailException(email);
+            }
+            return userMapper.toDto(user.get());
+        });
     }
 
     public void deleteUserById(Long id) {
-        userRepository.deleteById(id);
+        Optional<User> user = circuitBreaker.execute(() -> {
+            Optional<User> existing = userRepository.findById(id);
+            userRepository.deleteById(id);
+            return existing;
+        });
+        userReadCache.evict(id, null);
+        user.ifPresent(deleted -> eventPublisher.publishEvent(UserChangedEvent.deleted(id, userMapper.toDto(deleted))));
+    }
+
+    private CachedUser readThrough(Optional<UserReadCache.Entry> cached, Supplier<UserResponseDto> loader) {
+        if (cached.isPresent() && userReadCache.isFresh(cached.get())) {
+            return CachedUser.fresh(cached.get().user());
+        }
+        try {
+            return CachedUser.fresh(userReadCache.put(loader.get()));
+        } catch (RuntimeException e) {
+            if (!(e instanceof ServiceUnavailableException) && !CircuitBreaker.isFailure(e)) {
+                throw e;
+            }
+            UserReadCache.Entry stale = cached.filter(userReadCache::isServableWhenStale)
+                    .orElseThrow(() -> e);
+            return CachedUser.stale(stale.user(), userReadCache.getAge(stale));
+        }
     }
 }
@@ -0,0 +1,53 @@
+package ru.acton.ivantkachuk.userservice.sqlstats;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+public class SqlStatementCountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String NEXT = "next";
+    private static final ThreadLocal<long[]> QUERY_STARTED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatementStatsHolder.current() != null) {
+            QUERY_STARTED_AT.get()[0] = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementStatsHolder.current();
+        if (stats == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - QUERY_STARTED_AT.get()[0];
+        QueryType type = queryInfoList.isEmpty()
+                ? QueryType.OTHER
+                : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        stats.recordStatement(type, Math.max(1, queryInfoList.size()), elapsed);
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        SqlStatementStats stats = SqlStatementStatsHolder.current();
+        if (stats != null
+                && executionContext.getTarget() instanceof ResultSet
+                && NEXT.equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            stats.recordRow();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.acton.ivantkachuk.userservice.sqlstats;
+
+import lombok.Getter;
+import net.ttddyy.dsproxy.QueryType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+public class SqlStatementStats {
+
+    private int statements;
+    private long rowsFetched;
+    private long elapsedNanos;
+    private final Map<QueryType, Integer> statementsByType = new EnumMap<>(QueryType.class);
+
+    void recordStatement(QueryType type, int count, long nanos) {
+        statements += count;
+        elapsedNanos += nanos;
+        statementsByType.merge(type, count, Integer::sum);
+    }
+
+    void recordRow() {
+        rowsFetched++;
+    }
+
+    public int getStatements(QueryType type) {
+        return statementsByType.getOrDefault(type, 0);
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements " + statementsByType + ", " + rowsFetched + " rows, "
+                + getElapsed().toMillis() + " ms";
+    }
+}
@@ -0,0 +1,81 @@
+package ru.acton.ivantkachuk.userservice.sqlstats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+@Slf4j
+public class SqlStatementStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final SqlStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementStatsFilter(SqlStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper bufferedResponse = properties.isResponseHeaders()
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        SqlStatementStatsHolder.begin();
+        SqlStatementStats stats;
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            stats = SqlStatementStatsHolder.end();
+        }
+        String uri = uriPattern(request);
+        record(request.getMethod(), uri, stats);
+        if (stats.getStatements() > properties.getWarnStatements()
+                || stats.getElapsed().compareTo(properties.getWarnDuration()) > 0) {
+            log.warn("{} {} executed {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+        if (bufferedResponse != null) {
+            bufferedResponse.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+            bufferedResponse.setHeader(ROWS_HEADER, Long.toString(stats.getRowsFetched()));
+            bufferedResponse.setHeader(TIME_HEADER, Long.toString(stats.getElapsed().toMillis()));
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void record(String method, String uri, SqlStatementStats stats) {
+        DistributionSummary.builder("userservice.sql.statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("userservice.sql.rows")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRowsFetched());
+        Timer.builder("userservice.sql.time")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getElapsed());
+    }
+
+    private String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,16 @@
+package ru.acton.ivantkachuk.userservice.sqlstats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.sql-stats")
+public class SqlStatsProperties {
+
+    private boolean enabled = true;
+    private boolean responseHeaders = false;
+    private int warnStatements = 10;
+    private Duration warnDuration = Duration.ofMillis(500);
+}
@@ -0,0 +1,11 @@
+package ru.acton.ivantkachuk.userservice.stats;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(StatisticsProperties.class)
+public class StatisticsConfig {
+}
@@ -0,0 +1,14 @@
+package ru.acton.ivantkachuk.userservice.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("userservice.stats")
+public class StatisticsProperties {
+
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+    private int signupDays = 90;
+}
@@ -0,0 +1,194 @@
+package ru.acton.ivantkachuk.userservice.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreaker;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.dto.UserStatisticsDto;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+@Component
+public class UserStatistics {
+
+    static final int BUCKETS = 11;
+
+    private final UserRepository userRepository;
+    private final CircuitBreaker circuitBreaker;
+    private final TransactionOperations snapshotTransaction;
+    private final Clock clock;
+    private final int signupDays;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLongArray ageBuckets = new AtomicLongArray(BUCKETS);
+    private final ConcurrentHashMap<LocalDate, AtomicLong> signupsPerDay = new ConcurrentHashMap<>();
+    private volatile Instant reconciledAt;
+    private List<UserChangedEvent> changesDuringRollup;
+
+    @Autowired
+    public UserStatistics(UserRepository userRepository,
+                          CircuitBreaker circuitBreaker,
+                          PlatformTransactionManager transactionManager,
+                          StatisticsProperties properties) {
+        this(userRepository, circuitBreaker, snapshotTransaction(transactionManager), properties, Clock.systemUTC());
+    }
+
+    UserStatistics(UserRepository userRepository,
+                   CircuitBreaker circuitBreaker,
+                   TransactionOperations snapshotTransaction,
+                   StatisticsProperties properties,
+                   Clock clock) {
+        this.userRepository = userRepository;
+        this.circuitBreaker = circuitBreaker;
+        this.snapshotTransaction = snapshotTransaction;
+        this.clock = clock;
+        this.signupDays = properties.getSignupDays();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        apply(event);
+        if (changesDuringRollup != null) {
+            changesDuringRollup.add(event);
+        }
+    }
+
+    private void apply(UserChangedEvent event) {
+        UserResponseDto previous = event.previous();
+        UserResponseDto current = event.current();
+        if (previous == null && current != null) {
+            totalUsers.incrementAndGet();
+            addAge(current.getAge(), 1);
+            signupsPerDay.computeIfAbsent(signupDay(current), day -> new AtomicLong()).incrementAndGet();
+        } else if (previous != null && current == null) {
+            totalUsers.decrementAndGet();
+            addAge(previous.getAge(), -1);
+            AtomicLong signups = signupsPerDay.get(signupDay(previous));
+            if (signups != null) {
+                signups.decrementAndGet();
+            }
+        } else if (previous != null && !Objects.equals(previous.getAge(), current.getAge())) {
+            addAge(previous.getAge(), -1);
+            addAge(current.getAge(), 1);
+        }
+    }
+
+    public UserStatisticsDto snapshot() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            histogram.put(bucketLabel(bucket), ageBuckets.get(bucket));
+        }
+        LocalDate since = firstSignupDay();
+        Map<LocalDate, Long> signups = new TreeMap<>();
+        signupsPerDay.forEach((day, count) -> {
+            if (!day.isBefore(since) && count.get() > 0) {
+                signups.put(day, count.get());
+            }
+        });
+        return UserStatisticsDto.builder()
+                .totalUsers(totalUsers.get())
+                .ageHistogram(histogram)
+                .signupsPerDay(signups)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${userservice.stats.reconcile-interval:PT15M}")
+    public void reconcile() {
+        try {
+            LocalDate since = firstSignupDay();
+            Rollup rollup = circuitBreaker.execute(() -> snapshotTransaction.execute(status -> {
+                long total = userRepository.count();
+                startRecording();
+                return new Rollup(total, userRepository.countByAgeDecade(), userRepository.countSignupsSince(since));
+            }));
+            synchronized (this) {
+                replace(rollup, since);
+                changesDuringRollup.forEach(this::apply);
+            }
+        } catch (RuntimeException e) {
+            log.warn("User statistics reconciliation failed, keeping incremental counters", e);
+        } finally {
+            synchronized (this) {
+                changesDuringRollup = null;
+            }
+        }
+    }
+
+    private synchronized void startRecording() {
+        changesDuringRollup = new ArrayList<>();
+    }
+
+    private void replace(Rollup rollup, LocalDate since) {
+        long[] bucketTotals = new long[BUCKETS];
+        rollup.buckets().forEach(bucket -> bucketTotals[bucketIndex(bucket.getBucket())] += bucket.getTotal());
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            ageBuckets.set(bucket, bucketTotals[bucket]);
+        }
+        totalUsers.set(rollup.total());
+        signupsPerDay.keySet().removeIf(day -> day.isBefore(since));
+        signupsPerDay.values().forEach(count -> count.set(0));
+        rollup.signups().forEach(signup -> signupsPerDay.computeIfAbsent(signup.getDay(), day -> new AtomicLong())
+                .set(signup.getTotal()));
+        reconciledAt = clock.instant();
+    }
+
+    private static TransactionTemplate snapshotTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template;
+    }
+
+    private void addAge(Integer age, int delta) {
+        if (age != null) {
+            ageBuckets.addAndGet(bucketIndex(age / 10), delta);
+        }
+    }
+
+    private int bucketIndex(int decade) {
+        return Math.max(0, Math.min(BUCKETS - 1, decade));
+    }
+
+    private String bucketLabel(int bucket) {
+        return bucket == BUCKETS - 1 ? (bucket * 10) + "+" : (bucket * 10) + "-" + (bucket * 10 + 9);
+    }
+
+    private LocalDate signupDay(UserResponseDto user) {
+        return user.getCreatedAt() == null
+                ? LocalDate.now(clock)
+                : user.getCreatedAt().toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private LocalDate firstSignupDay() {
+        return LocalDate.now(clock).minusDays(signupDays - 1L);
+    }
+
+    private record Rollup(long total,
+                          List<UserRepository.AgeBucketCount> buckets,
+                          List<UserRepository.DailySignupCount> signups) {
+    }
+}
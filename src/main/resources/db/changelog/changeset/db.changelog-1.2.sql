@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset posteq:2
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          INTEGER      NOT NULL,
+    content_type    VARCHAR(255),
+    body            BYTEA        NOT NULL,
+    created_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
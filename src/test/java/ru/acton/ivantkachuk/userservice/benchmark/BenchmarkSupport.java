@@ -0,0 +1,66 @@
+package ru.acton.ivantkachuk.userservice.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.acton.ivantkachuk.userservice.UserserviceApplication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class BenchmarkSupport {
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withUsername("test")
+            .withPassword("test");
+
+    private BenchmarkSupport() {
+    }
+
+    static ConfigurableApplicationContext startApplication(String[] profiles, String... properties) {
+        List<String> allProperties = new ArrayList<>(Arrays.asList(properties));
+        allProperties.add("spring.datasource.url=" + POSTGRES.getJdbcUrl());
+        allProperties.add("spring.jpa.show-sql=false");
+        allProperties.add("logging.level.root=WARN");
+        return new SpringApplicationBuilder(UserserviceApplication.class)
+                .profiles(profiles)
+                .properties(allProperties.toArray(String[]::new))
+                .run();
+    }
+
+    static long timeMillis(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    static void printRow(String scenario, String variant, int operations, long millis) {
+        System.out.printf("%-28s %-18s %8d ops %8d ms %10.1f ops/s%n",
+                scenario, variant, operations, millis, operations * 1000.0 / Math.max(millis, 1));
+    }
+
+    static void printLatencies(String scenario, String variant, long[] latencyNanos, long millis) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-28s %-18s %8d ops %10.1f ops/s   p50 %8.3f ms   p99 %8.3f ms   max %8.3f ms%n",
+                scenario, variant, sorted.length, sorted.length * 1000.0 / Math.max(millis, 1),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 1.0));
+    }
+
+    static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = Math.min(sorted.length - 1, Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1));
+        return sorted[index] / 1_000_000.0;
+    }
+}
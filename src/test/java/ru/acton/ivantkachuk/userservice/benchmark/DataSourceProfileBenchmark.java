@@ -0,0 +1,76 @@
+package ru.acton.ivantkachuk.userservice.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.POSTGRES;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.printRow;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.startApplication;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.timeMillis;
+
+@Tag("benchmark")
+class DataSourceProfileBenchmark {
+
+    static final int CREATES = 2_000;
+    static final int LIST_READS = 200;
+
+    @BeforeAll
+    static void runContainer() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        POSTGRES.stop();
+    }
+
+    @Test
+    void compareDefaultAndHighThroughputProfiles() {
+        run("default", "test");
+        run("high-throughput", "test", "high-throughput");
+    }
+
+    private void run(String variant, String... profiles) {
+        try (ConfigurableApplicationContext context = startApplication(profiles)) {
+            UserService userService = context.getBean(UserService.class);
+            context.getBean(UserRepository.class).deleteAll();
+
+            warmUp(userService, variant);
+
+            long createMillis = timeMillis(() -> {
+                for (int i = 0; i < CREATES; i++) {
+                    userService.create(request(variant + "-" + i));
+                }
+            });
+            printRow("create", variant, CREATES, createMillis);
+
+            long listMillis = timeMillis(() -> {
+                for (int i = 0; i < LIST_READS; i++) {
+                    userService.getAllUsers();
+                }
+            });
+            printRow("getAllUsers (" + (CREATES + 100) + " rows)", variant, LIST_READS, listMillis);
+        }
+    }
+
+    private void warmUp(UserService userService, String variant) {
+        for (int i = 0; i < 100; i++) {
+            userService.create(request(variant + "-warmup-" + i));
+            userService.getAllUsers();
+        }
+    }
+
+    private UserRequestDto request(String suffix) {
+        return UserRequestDto.builder()
+                .name("Bench " + suffix)
+                .email(suffix + "@bench.com")
+                .age(30)
+                .build();
+    }
+}
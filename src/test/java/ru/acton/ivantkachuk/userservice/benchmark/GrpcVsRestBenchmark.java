@@ -0,0 +1,155 @@
+package ru.acton.ivantkachuk.userservice.benchmark;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.grpc.v1.BatchGetUsersRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.GetUserRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.UserServiceGrpc;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.POSTGRES;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.freePort;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.printLatencies;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.startApplication;
+
+@Tag("benchmark")
+class GrpcVsRestBenchmark {
+
+    static final int USERS = 1_000;
+    static final int THREADS = 16;
+    static final int LOOKUPS_PER_THREAD = 2_000;
+    static final int BATCHES_PER_THREAD = 100;
+    static final int BATCH_SIZE = 100;
+
+    @FunctionalInterface
+    interface Call {
+        void run(long[] ids) throws Exception;
+    }
+
+    @BeforeAll
+    static void runContainer() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        POSTGRES.stop();
+    }
+
+    @Test
+    void compareRestAndGrpcLookups() throws Exception {
+        int httpPort = freePort();
+        int grpcPort = freePort();
+        try (ConfigurableApplicationContext context = startApplication(new String[]{"test"},
+                "server.port=" + httpPort,
+                "spring.grpc.server.port=" + grpcPort,
+                "userservice.limiter.enabled=false",
+                "userservice.cache.fresh-for=1h")) {
+            long[] ids = seed(context);
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", grpcPort)
+                    .usePlaintext()
+                    .build();
+            try {
+                UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+                Call restGet = batch -> {
+                    for (long id : batch) {
+                        HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + httpPort + "/user/" + id)).build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("GET /user/" + id + " returned " + response.statusCode());
+                        }
+                    }
+                };
+                Call grpcGet = batch -> {
+                    for (long id : batch) {
+                        stub.getUser(GetUserRequest.newBuilder().setId(id).build());
+                    }
+                };
+                Call grpcBatchGet = batch -> stub.batchGetUsers(BatchGetUsersRequest.newBuilder()
+                        .addAllIds(Arrays.stream(batch).boxed().toList())
+                        .build());
+
+                System.out.printf("%d threads, %d cached users, latency per call%n", THREADS, USERS);
+                run("getUser", "REST (HTTP/1.1)", restGet, ids, 1, LOOKUPS_PER_THREAD);
+                run("getUser", "gRPC", grpcGet, ids, 1, LOOKUPS_PER_THREAD);
+                run(BATCH_SIZE + " users", "REST x" + BATCH_SIZE, restGet, ids, BATCH_SIZE, BATCHES_PER_THREAD);
+                run(BATCH_SIZE + " users", "gRPC x" + BATCH_SIZE, grpcGet, ids, BATCH_SIZE, BATCHES_PER_THREAD);
+                run(BATCH_SIZE + " users", "gRPC BatchGetUsers", grpcBatchGet, ids, BATCH_SIZE, BATCHES_PER_THREAD);
+            } finally {
+                channel.shutdownNow();
+                http.close();
+            }
+        }
+    }
+
+    private long[] seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        context.getBean(UserRepository.class).deleteAll();
+        long[] ids = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            ids[i] = userService.create(UserRequestDto.builder()
+                    .name("Bench " + i)
+                    .email("bench-" + i + "@bench.com")
+                    .age(30)
+                    .build()).getId();
+        }
+        return ids;
+    }
+
+    private void run(String scenario, String variant, Call call, long[] ids, int batchSize, int callsPerThread)
+            throws Exception {
+        measure(call, ids, batchSize, callsPerThread / 5);
+        long start = System.nanoTime();
+        long[] latencies = measure(call, ids, batchSize, callsPerThread);
+        printLatencies(scenario, variant, latencies, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long[] measure(Call call, long[] ids, int batchSize, int callsPerThread) throws Exception {
+        long[] latencies = new long[THREADS * callsPerThread];
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread * callsPerThread;
+                workers.add(executor.submit(() -> {
+                    long[] batch = new long[batchSize];
+                    for (int i = 0; i < callsPerThread; i++) {
+                        for (int j = 0; j < batchSize; j++) {
+                            batch[j] = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        }
+                        long start = System.nanoTime();
+                        call.run(batch);
+                        latencies[offset + i] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,140 @@
+package ru.acton.ivantkachuk.userservice.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.POSTGRES;
+import static ru.acton.ivantkachuk.userservice.benchmark.BenchmarkSupport.freePort;
+
+@Tag("benchmark")
+class StartupTimeBenchmark {
+
+    static final int RUNS = 5;
+    static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    static final Path CDS_DIRECTORY = Path.of(System.getProperty("benchmark.cds-directory", "build/cds"));
+    static final Path NATIVE_IMAGE = Path.of(System.getProperty("benchmark.native-image",
+            "build/native/nativeCompile/userservice"));
+    static final String JAVA = System.getProperty("benchmark.java",
+            Path.of(System.getProperty("java.home"), "bin", "java").toString());
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @BeforeAll
+    static void runContainer() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        POSTGRES.stop();
+    }
+
+    @Test
+    void compareStartupOfBuiltArtifacts() throws Exception {
+        Path jar = applicationJar();
+        Path archive = CDS_DIRECTORY.resolve("application.jsa");
+        assertThat(archive).as("run ./gradlew cdsArchive first").exists();
+        String jarPath = jar.toString();
+        String archiveOption = "-XX:SharedArchiveFile=" + archive;
+
+        measure("jar", List.of(JAVA, "-jar", jarPath));
+        measure("jar, liquibase off", List.of(JAVA, "-Dspring.liquibase.enabled=false", "-jar", jarPath));
+        measure("jar + cds", List.of(JAVA, archiveOption, "-jar", jarPath));
+        measure("jar + aot", List.of(JAVA, "-Dspring.aot.enabled=true", "-jar", jarPath));
+        measure("jar + aot + cds", List.of(JAVA, archiveOption, "-Dspring.aot.enabled=true", "-jar", jarPath));
+        if (Files.isExecutable(NATIVE_IMAGE)) {
+            measure("native image", List.of(NATIVE_IMAGE.toString()));
+        } else {
+            System.out.printf("%-28s skipped, %s not found (./gradlew nativeCompile)%n", "native image", NATIVE_IMAGE);
+        }
+    }
+
+    private void measure(String variant, List<String> command) throws Exception {
+        start(variant, command);
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            samples[i] = start(variant, command);
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-28s min %6d ms  median %6d ms  max %6d ms%n",
+                variant, samples[0], samples[RUNS / 2], samples[RUNS - 1]);
+    }
+
+    private long start(String variant, List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--spring.grpc.server.port=" + freePort());
+        arguments.add("--spring.datasource.url=" + POSTGRES.getJdbcUrl());
+        arguments.add("--spring.datasource.username=" + POSTGRES.getUsername());
+        arguments.add("--spring.datasource.password=" + POSTGRES.getPassword());
+        arguments.add("--logging.level.root=WARN");
+        Path log = Files.createTempFile("startup-benchmark", ".log");
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .directory(CDS_DIRECTORY.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant + " exited with " + process.exitValue() + ":\n"
+                            + Files.readString(log));
+                }
+                if (isUp(health)) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(variant + " did not start within " + STARTUP_TIMEOUT + ":\n"
+                    + Files.readString(log));
+        } finally {
+            process.destroy();
+            process.waitFor();
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private boolean isUp(HttpRequest health) throws IOException, InterruptedException {
+        try {
+            return httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (ConnectException e) {
+            return false;
+        }
+    }
+
+    private static Path applicationJar() {
+        try (Stream<Path> files = Files.list(CDS_DIRECTORY)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No extracted jar in " + CDS_DIRECTORY
+                            + ", run ./gradlew cdsArchive first"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
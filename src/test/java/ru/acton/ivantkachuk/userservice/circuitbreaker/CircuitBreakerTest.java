@@ -0,0 +1,109 @@
+package ru.acton.ivantkachuk.userservice.circuitbreaker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundException;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallDuration(Duration.ofMillis(100));
+        properties.setOpenDuration(Duration.ofSeconds(5));
+        properties.setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker(properties, clock::get);
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateExceeded() {
+        //given
+        succeed(2);
+        fail(2);
+
+        //when & then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> circuitBreaker.execute(() -> "value"))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void shouldOpenWhenCallsAreSlow() {
+        //when
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.execute(() -> clock.addAndGet(Duration.ofMillis(150).toNanos()));
+        }
+
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldNotCountBusinessExceptionsAsFailures() {
+        //when
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+                throw new EntityNotFoundException(1L);
+            })).isInstanceOf(EntityNotFoundException.class);
+        }
+
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulHalfOpenProbes() {
+        //given
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        //when
+        succeed(1);
+
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        succeed(1);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopenWhenHalfOpenProbeFails() {
+        //given
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        //when
+        fail(1);
+
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.execute(() -> "value");
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+                throw new DataAccessResourceFailureException("Connection refused");
+            })).isInstanceOf(DataAccessResourceFailureException.class);
+        }
+    }
+}
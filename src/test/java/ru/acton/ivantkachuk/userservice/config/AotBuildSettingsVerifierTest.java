@@ -0,0 +1,54 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AotBuildSettingsVerifierTest {
+
+    @Test
+    void shouldAcceptEnvironmentMatchingBuild() {
+        //given
+        MockEnvironment build = new MockEnvironment();
+        build.setActiveProfiles("replica");
+        build.setProperty("userservice.limiter.enabled", "true");
+        Properties built = AotBuildSettings.capture(build);
+        MockEnvironment runtime = new MockEnvironment();
+        runtime.setActiveProfiles("replica");
+
+        //when & then
+        assertThatCode(() -> AotBuildSettingsVerifier.verify(built, runtime)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectDifferentProfiles() {
+        //given
+        MockEnvironment build = new MockEnvironment();
+        build.setActiveProfiles("replica");
+        Properties built = AotBuildSettings.capture(build);
+        MockEnvironment runtime = new MockEnvironment();
+        runtime.setActiveProfiles("replica", "in-memory");
+
+        //when & then
+        assertThatThrownBy(() -> AotBuildSettingsVerifier.verify(built, runtime))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.profiles.active was [replica] at build time but is [in-memory,replica]");
+    }
+
+    @Test
+    void shouldRejectToggleChangedAfterBuild() {
+        //given
+        Properties built = AotBuildSettings.capture(new MockEnvironment());
+        MockEnvironment runtime = new MockEnvironment();
+        runtime.setProperty("userservice.idempotency.enabled", "false");
+
+        //when & then
+        assertThatThrownBy(() -> AotBuildSettingsVerifier.verify(built, runtime))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("userservice.idempotency.enabled was [true] at build time but is [false]");
+    }
+}
@@ -0,0 +1,37 @@
+package ru.acton.ivantkachuk.userservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaVersionVerifierTest {
+
+    static final String CHANGE_LOG = "classpath:db/changelog/db.changelog-master.yaml";
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    @Test
+    void shouldSkipVerificationWhenDisabledAtRuntime() {
+        //given
+        SchemaVersionVerifier verifier = new SchemaVersionVerifier(
+                beanFactory.getBeanProvider(DataSource.class), false, CHANGE_LOG);
+
+        //when & then
+        assertThatCode(() -> verifier.run(null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldVerifyWhenEnabledAtRuntime() {
+        //given
+        SchemaVersionVerifier verifier = new SchemaVersionVerifier(
+                beanFactory.getBeanProvider(DataSource.class), true, CHANGE_LOG);
+
+        //when & then
+        assertThatThrownBy(() -> verifier.run(null)).isInstanceOf(NoSuchBeanDefinitionException.class);
+    }
+}
@@ -8,25 +8,33 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.acton.ivantkachuk.userservice.cache.CachedUser;
+import ru.acton.ivantkachuk.userservice.dto.SparseUserView;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
 import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
 import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
 import ru.acton.ivantkachuk.userservice.service.UserService;
 
+import java.time.Duration;
 import java.util.List;
 
+import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -79,18 +87,52 @@ class UserControllerTest {
     @Test
     void getUserById() throws Exception {
         //given
-        doReturn(testUserResponseDto).when(userService).getUserById(anyLong());
+        doReturn(CachedUser.fresh(testUserResponseDto)).when(userService).readUserById(anyLong());
 
         //when
         mockMvc.perform(get("/user/{userId}",1L))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(UserController.CACHE_STATUS))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.name").value("Test User"))
                 .andExpect(jsonPath("$.age").value("25"));
     }
 
+    @Test
+    void getUserByIdServedStale() throws Exception {
+        //given
+        doReturn(CachedUser.stale(testUserResponseDto, Duration.ofSeconds(42))).when(userService).readUserById(1L);
+
+        //when
+        mockMvc.perform(get("/user/{userId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.CACHE_STATUS, UserController.STALE))
+                .andExpect(header().string(HttpHeaders.AGE, "42"))
+                .andExpect(header().string(UserController.WARNING, UserController.STALE_WARNING))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getUserByIdWithFields() throws Exception {
+        //given
+        UserField[] fields = {UserField.ID, UserField.NAME};
+        doReturn(new SparseUserView(fields, new Object[]{1L, "Test User"}))
+                .when(userService).getUserFieldsById(1L, fields);
+
+        //when
+        mockMvc.perform(get("/user/{userId}", 1L).param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", aMapWithSize(2)))
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.name").value("Test User"));
+
+        //then
+        verify(userService).getUserFieldsById(1L, fields);
+    }
+
     @Test
     void createUser() throws Exception {
         //given
@@ -135,11 +177,36 @@ class UserControllerTest {
         verify(userService).getAllUsers();
     }
 
+    @Test
+    void getAllUsersWithFields() throws Exception {
+        //given
+        UserField[] fields = {UserField.ID, UserField.EMAIL};
+        doReturn(List.of(
+                new SparseUserView(fields, new Object[]{1L, "test@example.com"}),
+                new SparseUserView(fields, new Object[]{2L, "user2@example.com"})))
+                .when(userService).getAllUserFields(fields);
+
+        //when
+        mockMvc.perform(get("/user").param("fields", "id, email"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", aMapWithSize(2)))
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].email").value("test@example.com"))
+                .andExpect(jsonPath("$[1].id").value(2L))
+                .andExpect(jsonPath("$[1].name").doesNotExist());
+
+        //then
+        verify(userService).getAllUserFields(fields);
+        verify(userService, never()).getAllUsers();
+    }
+
     @Test
     void getUserByEmail() throws Exception {
         //given
         String email = "test@example.com";
-        doReturn(testUserResponseDto).when(userService).getUserByEmail(email);
+        doReturn(CachedUser.fresh(testUserResponseDto)).when(userService).readUserByEmail(email);
 
         //when
         mockMvc.perform(get("/user/by-email/{email}", email))
@@ -150,6 +217,6 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name").value("Test User"))
                 .andExpect(jsonPath("$.age").value("25"));
 
-        verify(userService).getUserByEmail(email);
+        verify(userService).readUserByEmail(email);
     }
 }
\ No newline at end of file
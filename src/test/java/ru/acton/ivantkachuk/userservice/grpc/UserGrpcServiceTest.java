@@ -0,0 +1,292 @@
+package ru.acton.ivantkachuk.userservice.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.grpc.server.exception.GrpcExceptionHandlerInterceptor;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.exception.impl.EntityFoundWithEmailException;
+import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundException;
+import ru.acton.ivantkachuk.userservice.exception.impl.ServiceUnavailableException;
+import ru.acton.ivantkachuk.userservice.grpc.v1.BatchGetUsersRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.BatchGetUsersResponse;
+import ru.acton.ivantkachuk.userservice.grpc.v1.CreateUserRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.CreateUsersResponse;
+import ru.acton.ivantkachuk.userservice.grpc.v1.GetUserRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.ListUsersRequest;
+import ru.acton.ivantkachuk.userservice.grpc.v1.User;
+import ru.acton.ivantkachuk.userservice.grpc.v1.UserServiceGrpc;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserGrpcServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserGrpcProperties properties = new UserGrpcProperties();
+        properties.setDefaultPageSize(2);
+        properties.setMaxBatchSize(3);
+        UserGrpcService service = new UserGrpcService(userService, new UserProtoMapper(), properties,
+                Validation.buildDefaultValidatorFactory().getValidator(), new UserGrpcExceptionHandler());
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service,
+                        new GrpcExceptionHandlerInterceptor(new UserGrpcExceptionHandler())))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void getUserById() {
+        //given
+        when(userService.getUserById(1L)).thenReturn(user(1L));
+
+        //when
+        User user = UserServiceGrpc.newBlockingStub(channel)
+                .getUser(GetUserRequest.newBuilder().setId(1L).build());
+
+        //then
+        assertThat(user.getEmail()).isEqualTo("user1@test.com");
+        assertThat(user.getAge()).isEqualTo(30);
+    }
+
+    @Test
+    void getUserByIdNotFound() {
+        //given
+        when(userService.getUserById(7L)).thenThrow(new EntityNotFoundException(7L));
+
+        //when
+        //then
+        assertThatThrownBy(() -> UserServiceGrpc.newBlockingStub(channel)
+                .getUser(GetUserRequest.newBuilder().setId(7L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void batchGetUsersReportsMissingIds() {
+        //given
+        when(userService.getUsersByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(user(1L), user(3L)));
+
+        //when
+        BatchGetUsersResponse response = UserServiceGrpc.newBlockingStub(channel)
+                .batchGetUsers(BatchGetUsersRequest.newBuilder().addAllIds(List.of(1L, 2L, 3L)).build());
+
+        //then
+        assertThat(response.getUsersList()).extracting(User::getId).containsExactly(1L, 3L);
+        assertThat(response.getMissingIdsList()).containsExactly(2L);
+    }
+
+    @Test
+    void batchGetUsersReportsRepeatedMissingIdOnce() {
+        //given
+        when(userService.getUsersByIds(List.of(1L, 2L, 2L))).thenReturn(List.of(user(1L)));
+
+        //when
+        BatchGetUsersResponse response = UserServiceGrpc.newBlockingStub(channel)
+                .batchGetUsers(BatchGetUsersRequest.newBuilder().addAllIds(List.of(1L, 2L, 2L)).build());
+
+        //then
+        assertThat(response.getUsersList()).extracting(User::getId).containsExactly(1L);
+        assertThat(response.getMissingIdsList()).containsExactly(2L);
+    }
+
+    @Test
+    void listUsersStreamsAllPages() {
+        //given
+        when(userService.getUsersAfter(0L, 2)).thenReturn(List.of(user(1L), user(2L)));
+        when(userService.getUsersAfter(2L, 2)).thenReturn(List.of(user(3L)));
+
+        //when
+        Iterator<User> users = UserServiceGrpc.newBlockingStub(channel)
+                .listUsers(ListUsersRequest.getDefaultInstance());
+
+        //then
+        List<Long> ids = new ArrayList<>();
+        users.forEachRemaining(user -> ids.add(user.getId()));
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void createUsersCollectsFailures() throws Exception {
+        //given
+        when(userService.create(any(UserRequestDto.class))).thenReturn(user(1L));
+        when(userService.create(argThat(request -> request != null && "taken@test.com".equals(request.getEmail()))))
+                .thenThrow(new EntityFoundWithEmailException("taken@test.com"));
+        CompletableFuture<CreateUsersResponse> result = new CompletableFuture<>();
+
+        //when
+        StreamObserver<CreateUserRequest> requests = UserServiceGrpc.newStub(channel)
+                .createUsers(new StreamObserver<>() {
+                    @Override
+                    public void onNext(CreateUsersResponse response) {
+                        result.complete(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        requests.onNext(request("user1@test.com"));
+        requests.onNext(request("taken@test.com"));
+        requests.onCompleted();
+
+        //then
+        CreateUsersResponse response = result.get(5, TimeUnit.SECONDS);
+        assertThat(response.getUsersList()).extracting(User::getId).containsExactly(1L);
+        assertThat(response.getFailuresList()).singleElement()
+                .satisfies(failure -> {
+                    assertThat(failure.getIndex()).isEqualTo(1);
+                    assertThat(failure.getEmail()).isEqualTo("taken@test.com");
+                    assertThat(failure.getCode()).isEqualTo("ALREADY_EXISTS");
+                });
+    }
+
+    @Test
+    void createUsersRejectsInvalidUsersWithoutCreatingThem() throws Exception {
+        //given
+        when(userService.create(any(UserRequestDto.class))).thenReturn(user(2L));
+        CompletableFuture<CreateUsersResponse> result = new CompletableFuture<>();
+
+        //when
+        StreamObserver<CreateUserRequest> requests = UserServiceGrpc.newStub(channel).createUsers(collect(result));
+        requests.onNext(CreateUserRequest.getDefaultInstance());
+        requests.onNext(request("user2@test.com"));
+        requests.onCompleted();
+
+        //then
+        CreateUsersResponse response = result.get(5, TimeUnit.SECONDS);
+        assertThat(response.getUsersList()).extracting(User::getId).containsExactly(2L);
+        assertThat(response.getFailuresList()).singleElement()
+                .satisfies(failure -> {
+                    assertThat(failure.getIndex()).isEqualTo(0);
+                    assertThat(failure.getCode()).isEqualTo("INVALID_ARGUMENT");
+                    assertThat(failure.getReason()).contains("age", "email", "name");
+                });
+        verify(userService, times(1)).create(any(UserRequestDto.class));
+    }
+
+    @Test
+    void createUsersRecordsUnexpectedFailuresAndContinues() throws Exception {
+        //given
+        when(userService.create(any(UserRequestDto.class)))
+                .thenThrow(new ServiceUnavailableException("Database is unavailable", Duration.ofSeconds(10)))
+                .thenReturn(user(2L));
+        CompletableFuture<CreateUsersResponse> result = new CompletableFuture<>();
+
+        //when
+        StreamObserver<CreateUserRequest> requests = UserServiceGrpc.newStub(channel).createUsers(collect(result));
+        requests.onNext(request("user1@test.com"));
+        requests.onNext(request("user2@test.com"));
+        requests.onCompleted();
+
+        //then
+        CreateUsersResponse response = result.get(5, TimeUnit.SECONDS);
+        assertThat(response.getUsersList()).extracting(User::getId).containsExactly(2L);
+        assertThat(response.getFailuresList()).singleElement()
+                .satisfies(failure -> {
+                    assertThat(failure.getIndex()).isEqualTo(0);
+                    assertThat(failure.getCode()).isEqualTo("UNAVAILABLE");
+                    assertThat(failure.getReason()).isEqualTo("Database is unavailable");
+                });
+    }
+
+    @Test
+    void createUsersStopsAtMaxBatchSize() throws Exception {
+        //given
+        when(userService.create(any(UserRequestDto.class))).thenReturn(user(1L));
+        CompletableFuture<CreateUsersResponse> result = new CompletableFuture<>();
+
+        //when
+        StreamObserver<CreateUserRequest> requests = UserServiceGrpc.newStub(channel).createUsers(collect(result));
+        for (int i = 0; i < 5; i++) {
+            requests.onNext(request("user" + i + "@test.com"));
+        }
+        requests.onCompleted();
+
+        //then
+        CreateUsersResponse response = result.get(5, TimeUnit.SECONDS);
+        assertThat(response.getUsersCount()).isEqualTo(3);
+        assertThat(response.getFailuresList()).singleElement()
+                .satisfies(failure -> assertThat(failure.getIndex()).isEqualTo(3));
+        verify(userService, times(3)).create(any(UserRequestDto.class));
+    }
+
+    private static StreamObserver<CreateUsersResponse> collect(CompletableFuture<CreateUsersResponse> result) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(CreateUsersResponse response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+
+    private static CreateUserRequest request(String email) {
+        return CreateUserRequest.newBuilder().setName("User").setEmail(email).setAge(30).build();
+    }
+
+    private static UserResponseDto user(Long id) {
+        return UserResponseDto.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@test.com")
+                .age(30)
+                .build();
+    }
+}
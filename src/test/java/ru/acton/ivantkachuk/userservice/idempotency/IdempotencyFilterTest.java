@@ -0,0 +1,237 @@
+package ru.acton.ivantkachuk.userservice.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityProperties;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private static final String KEY = "8e03978e-40d5-43e8-bc93-6894a57f9324";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private InMemoryIdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(64));
+        Clock clock = Clock.fixed(Instant.parse("2025-07-23T10:00:00Z"), ZoneOffset.UTC);
+        store = new InMemoryIdempotencyStore(properties, clock);
+        filter = new IdempotencyFilter(store, new ClientIdentityResolver(new ClientIdentityProperties()),
+                properties, clock, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldReplayFirstResponseWithoutExecutingAgain() throws Exception {
+        //given
+        filter.doFilter(request(KEY, "{\"email\":\"alex@test.com\"}"), new MockHttpServletResponse(), created());
+
+        //when
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request(KEY, "{\"email\":\"alex@test.com\"}"), retry, created());
+
+        //then
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentBody() throws Exception {
+        //given
+        filter.doFilter(request(KEY, "{\"email\":\"alex@test.com\"}"), new MockHttpServletResponse(), created());
+
+        //when
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request(KEY, "{\"email\":\"petr@test.com\"}"), retry, created());
+
+        //then
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void shouldNotStoreServerErrors() throws Exception {
+        //given
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+        filter.doFilter(request(KEY, "{}"), new MockHttpServletResponse(), failing);
+
+        //when
+        filter.doFilter(request(KEY, "{}"), new MockHttpServletResponse(), created());
+
+        //then
+        assertThat(executions).hasValue(2);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExecuteRetryOfShedRequest() throws Exception {
+        //given
+        FilterChain rateLimited = (request, response) -> {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(429);
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        };
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request(KEY, "{}"), shed, rateLimited);
+
+        //when
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request(KEY, "{}"), retry, created());
+
+        //then
+        assertThat(shed.getStatus()).isEqualTo(429);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shouldStoreOnlyResponsesProducedByHandler() throws Exception {
+        //given
+        FilterChain conflict = (request, response) -> {
+            executions.incrementAndGet();
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, "userController");
+            ((HttpServletResponse) response).setStatus(409);
+        };
+        FilterChain notDispatched = (request, response) -> ((HttpServletResponse) response).setStatus(400);
+        filter.doFilter(request(KEY, "{}"), new MockHttpServletResponse(), conflict);
+
+        //when
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request(KEY, "{}"), retry, created());
+        filter.doFilter(request("other-key", "{}"), new MockHttpServletResponse(), notDispatched);
+
+        //then
+        assertThat(retry.getStatus()).isEqualTo(409);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldScopeKeysPerClient() throws Exception {
+        //given
+        MockHttpServletRequest first = request(KEY, "{}");
+        first.setRemoteAddr("10.0.0.1");
+        filter.doFilter(first, new MockHttpServletResponse(), created());
+
+        //when
+        MockHttpServletRequest second = request(KEY, "{}");
+        second.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, created());
+
+        //then
+        assertThat(executions).hasValue(2);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldRejectBodyAboveLimit() throws Exception {
+        //given
+        String body = "{\"name\":\"" + "x".repeat(100) + "\"}";
+
+        //when
+        MockHttpServletResponse declared = new MockHttpServletResponse();
+        filter.doFilter(request(KEY, body), declared, created());
+        MockHttpServletResponse chunked = new MockHttpServletResponse();
+        MockHttpServletRequest withoutLength = new MockHttpServletRequest("POST", "/user") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        withoutLength.addHeader("Idempotency-Key", KEY);
+        withoutLength.setContent(body.getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(withoutLength, chunked, created());
+
+        //then
+        assertThat(declared.getStatus()).isEqualTo(413);
+        assertThat(chunked.getStatus()).isEqualTo(413);
+        assertThat(executions).hasValue(0);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void shouldWaitForInFlightOriginal() throws Exception {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+        MockHttpServletResponse original = new MockHttpServletResponse();
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> doFilter(original, slow));
+        started.await(5, TimeUnit.SECONDS);
+
+        //when
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> doFilter(duplicate, created()));
+        Thread.sleep(50);
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(executions).hasValue(1);
+        assertThat(duplicate.getContentAsString()).isEqualTo(original.getContentAsString());
+        assertThat(duplicate.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    private void doFilter(MockHttpServletResponse response, FilterChain chain) {
+        try {
+            filter.doFilter(request(KEY, "{}"), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, "userController");
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/user");
+        request.addHeader("Idempotency-Key", key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.acton.ivantkachuk.userservice.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.acton.ivantkachuk.userservice.UserserviceApplication;
+import ru.acton.ivantkachuk.userservice.config.SchemaVersionVerifier;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+class SchemaMigrationIntegrationTest {
+
+    static final String CHANGE_LOG = "classpath:db/changelog/db.changelog-master.yaml";
+
+    static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @BeforeAll
+    static void runContainer() {
+        container.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        container.stop();
+    }
+
+    @Test
+    void verifierShouldFailWhenChangeSetsArePendingAndPassAfterMigrate() {
+        //given
+        SchemaVersionVerifier verifier = new SchemaVersionVerifier(dataSource(), CHANGE_LOG);
+        assertThatThrownBy(() -> verifier.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("pending change sets");
+
+        //when
+        try (ConfigurableApplicationContext context = UserserviceApplication.migrate(new String[]{
+                "--spring.datasource.url=" + container.getJdbcUrl(),
+                "--spring.datasource.username=" + container.getUsername(),
+                "--spring.datasource.password=" + container.getPassword()})) {
+
+            //then
+            assertThat(context.getBeanNamesForType(UserService.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(ScheduledAnnotationBeanPostProcessor.class)).isEmpty();
+            assertDoesNotThrow(() -> verifier.run(null));
+        }
+    }
+
+    private static DataSource dataSource() {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
@@ -0,0 +1,150 @@
+package ru.acton.ivantkachuk.userservice.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.acton.ivantkachuk.userservice.cache.UserCacheInvalidationBus;
+import ru.acton.ivantkachuk.userservice.cache.UserCacheProperties;
+import ru.acton.ivantkachuk.userservice.cache.UserReadCache;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class UserCacheInvalidationBusIntegrationTest {
+
+    static final String CHANNEL = "user_cache_invalidation";
+    static final UserResponseDto PROBE = user(1_000L, "probe@example.com");
+
+    static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+    private UserReadCache firstCache;
+    private UserReadCache secondCache;
+    private UserCacheInvalidationBus firstBus;
+    private UserCacheInvalidationBus secondBus;
+
+    @BeforeAll
+    static void runContainer() {
+        container.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        container.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                container.getJdbcUrl(), container.getUsername(), container.getPassword()));
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.getInvalidation().setPollTimeout(Duration.ofMillis(200));
+        properties.getInvalidation().setReconnectDelay(Duration.ofMillis(100));
+        firstCache = new UserReadCache(properties, System::nanoTime);
+        secondCache = new UserReadCache(properties, System::nanoTime);
+        firstBus = new UserCacheInvalidationBus(firstCache, jdbcTemplate, dataSourceProperties(), properties);
+        secondBus = new UserCacheInvalidationBus(secondCache, jdbcTemplate, dataSourceProperties(), properties);
+        firstBus.start();
+        secondBus.start();
+        awaitListening(firstBus, secondCache);
+        awaitListening(secondBus, firstCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstBus.stop();
+        secondBus.stop();
+    }
+
+    @Test
+    void shouldEvictEntryOnOtherNodeAndKeepOwn() {
+        //given
+        UserResponseDto user = user(1L, "first@example.com");
+        firstCache.put(user);
+        secondCache.put(user);
+
+        //when
+        firstBus.onUserChanged(UserChangedEvent.updated(user, user));
+        secondBus.onUserChanged(UserChangedEvent.created(PROBE));
+
+        //then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(secondCache.getById(1L)).isEmpty();
+            assertThat(firstCache.getById(PROBE.getId())).isEmpty();
+        });
+        assertThat(firstCache.getById(1L)).isPresent();
+    }
+
+    @Test
+    void shouldEvictByEmailAndIgnoreMalformedPayloads() {
+        //given
+        secondCache.put(user(7L, "renamed@example.com"));
+        secondCache.put(PROBE);
+
+        //when
+        notify("garbage");
+        notify("other-node:not-a-number:renamed@example.com");
+        notify("other-node:999:renamed@example.com");
+        notify("other-node:" + PROBE.getId() + ":");
+
+        //then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(secondCache.getById(PROBE.getId())).isEmpty());
+        assertThat(secondCache.getById(7L)).isEmpty();
+        assertThat(secondCache.getByEmail("renamed@example.com")).isEmpty();
+    }
+
+    @Test
+    void shouldFlushCacheAfterReconnect() {
+        //given
+        secondCache.put(user(3L, "cached@example.com"));
+
+        //when
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity "
+                + "WHERE pid <> pg_backend_pid() AND datname = current_database()");
+
+        //then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(secondCache.size()).isZero());
+        awaitListening(firstBus, secondCache);
+    }
+
+    private void awaitListening(UserCacheInvalidationBus sender, UserReadCache receiver) {
+        receiver.put(PROBE);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            sender.onUserChanged(UserChangedEvent.created(PROBE));
+            assertThat(receiver.getById(PROBE.getId())).isEmpty();
+        });
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    private static DataSourceProperties dataSourceProperties() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(container.getJdbcUrl());
+        properties.setUsername(container.getUsername());
+        properties.setPassword(container.getPassword());
+        return properties;
+    }
+
+    private static UserResponseDto user(Long id, String email) {
+        return UserResponseDto.builder()
+                .id(id)
+                .name("Cached User")
+                .email(email)
+                .age(30)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.acton.ivantkachuk.userservice.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.idempotency.IdempotencyFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.grpc.server.port=0")
+@ActiveProfiles("in-memory")
+class UserInMemoryEndToEndTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldCreateReadAndDeleteUserOverHttp() {
+        //given
+        UserRequestDto request = UserRequestDto.builder()
+                .name("Test User")
+                .email("e2e@example.com")
+                .age(25)
+                .build();
+
+        //when
+        ResponseEntity<UserResponseDto> created = restTemplate.postForEntity("/user", request, UserResponseDto.class);
+        Long id = created.getBody().getId();
+        ResponseEntity<String> duplicate = restTemplate.postForEntity("/user", request, String.class);
+        ResponseEntity<UserResponseDto> byEmail =
+                restTemplate.getForEntity("/user/by-email/e2e@example.com", UserResponseDto.class);
+        restTemplate.delete("/user/" + id);
+        ResponseEntity<String> afterDelete = restTemplate.getForEntity("/user/" + id, String.class);
+
+        //then
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(byEmail.getBody().getId()).isEqualTo(id);
+        assertThat(afterDelete.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldReplayCreateWithSameIdempotencyKey() {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", "0b6a3f2e-5d1c-4c55-9a43-1f0e2d3c4b5a");
+        HttpEntity<UserRequestDto> request = new HttpEntity<>(UserRequestDto.builder()
+                .name("Test User")
+                .email("idempotent@example.com")
+                .age(25)
+                .build(), headers);
+
+        //when
+        ResponseEntity<UserResponseDto> created = restTemplate.postForEntity("/user", request, UserResponseDto.class);
+        ResponseEntity<UserResponseDto> retry = restTemplate.postForEntity("/user", request, UserResponseDto.class);
+
+        //then
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody().getId()).isEqualTo(created.getBody().getId());
+    }
+}
@@ -0,0 +1,114 @@
+package ru.acton.ivantkachuk.userservice.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.acton.ivantkachuk.userservice.dto.SparseUserView;
+import ru.acton.ivantkachuk.userservice.dto.UserField;
+import ru.acton.ivantkachuk.userservice.entity.User;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+import ru.acton.ivantkachuk.userservice.support.RecordingStatementInspector;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "userservice.cache.invalidation.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.acton.ivantkachuk.userservice.support.RecordingStatementInspector"
+})
+@ActiveProfiles("test")
+@Transactional
+class UserProjectionRepositoryIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+    }
+
+    @BeforeAll
+    static void runContainer() {
+        container.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        container.stop();
+    }
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(User.builder()
+                .name("Sparse User")
+                .email("sparse@projection.com")
+                .age(41)
+                .build());
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void findFieldsByIdShouldSelectOnlyRequestedColumns() {
+        //given
+        UserField[] fields = {UserField.EMAIL, UserField.NAME};
+
+        //when
+        Optional<SparseUserView> actual = userRepository.findFieldsById(user.getId(), fields);
+
+        //then
+        assertThat(RecordingStatementInspector.selects()).hasSize(1);
+        assertThat(RecordingStatementInspector.selectList(RecordingStatementInspector.selects().get(0)))
+                .satisfiesExactly(
+                        column -> assertThat(column).endsWith(".email"),
+                        column -> assertThat(column).endsWith(".name"));
+        assertThat(actual).isPresent();
+        assertThat(actual.get().fields()).containsExactly(UserField.EMAIL, UserField.NAME);
+        assertThat(actual.get().values()).containsExactly("sparse@projection.com", "Sparse User");
+        assertThat(actual.get().get(UserField.AGE)).isNull();
+    }
+
+    @Test
+    void findAllFieldsShouldSelectOnlyRequestedColumns() {
+        //given
+        UserField[] fields = {UserField.ID, UserField.AGE};
+
+        //when
+        List<SparseUserView> actual = userRepository.findAllFields(fields);
+
+        //then
+        assertThat(RecordingStatementInspector.selects()).hasSize(1);
+        assertThat(RecordingStatementInspector.selectList(RecordingStatementInspector.selects().get(0)))
+                .satisfiesExactly(
+                        column -> assertThat(column).endsWith(".id"),
+                        column -> assertThat(column).endsWith(".age"));
+        assertThat(actual).anySatisfy(view -> {
+            assertThat(view.fields()).containsExactly(UserField.ID, UserField.AGE);
+            assertThat(view.values()).containsExactly(user.getId(), 41);
+        });
+    }
+
+    @Test
+    void findFieldsByIdShouldReturnEmptyForMissingUser() {
+        //when
+        Optional<SparseUserView> actual = userRepository.findFieldsById(-1L, new UserField[]{UserField.NAME});
+
+        //then
+        assertThat(actual).isEmpty();
+    }
+}
@@ -0,0 +1,150 @@
+package ru.acton.ivantkachuk.userservice.integration;
+
+import net.ttddyy.dsproxy.QueryType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.acton.ivantkachuk.userservice.cache.UserReadCache;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.entity.User;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+import ru.acton.ivantkachuk.userservice.sqlstats.SqlStatementStats;
+
+import static ru.acton.ivantkachuk.userservice.support.SqlStatementCountAssertions.assertStatementCount;
+import static ru.acton.ivantkachuk.userservice.support.SqlStatementCountAssertions.countStatements;
+
+@SpringBootTest(properties = "userservice.cache.invalidation.enabled=false")
+@ActiveProfiles("test")
+class UserServiceQueryCountIntegrationTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserReadCache userReadCache;
+
+    static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+    }
+
+    @BeforeAll
+    static void runContainer() {
+        container.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        container.stop();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().endsWith("@count.com"))
+                .toList());
+        userReadCache.clear();
+    }
+
+    @Test
+    void createShouldCheckEmailAndInsert() {
+        //when
+        SqlStatementStats stats = countStatements(() -> userService.create(request("create@count.com")));
+
+        //then
+        assertStatementCount(stats, 2);
+        assertStatementCount(stats, QueryType.SELECT, 1);
+        assertStatementCount(stats, QueryType.INSERT, 1);
+    }
+
+    @Test
+    void getUserByIdShouldSelectOnce() {
+        //given
+        User user = saveUser("by-id@count.com");
+
+        //when
+        SqlStatementStats stats = countStatements(() -> userService.getUserById(user.getId()));
+
+        //then
+        assertStatementCount(stats, QueryType.SELECT, 1);
+        assertStatementCount(stats, 1);
+    }
+
+    @Test
+    void getUserByEmailShouldSelectOnce() {
+        //given
+        saveUser("by-email@count.com");
+
+        //when
+        SqlStatementStats stats = countStatements(() -> userService.getUserByEmail("by-email@count.com"));
+
+        //then
+        assertStatementCount(stats, 1);
+    }
+
+    @Test
+    void updateUserShouldSelectAndUpdate() {
+        //given
+        User user = saveUser("update@count.com");
+
+        //when
+        SqlStatementStats stats = countStatements(() ->
+                userService.updateUser(user.getId(), request("updated@count.com")));
+
+        //then
+        assertStatementCount(stats, QueryType.SELECT, 1);
+        assertStatementCount(stats, QueryType.UPDATE, 1);
+        assertStatementCount(stats, 2);
+    }
+
+    @Test
+    void getAllUsersShouldSelectOnce() {
+        //when
+        SqlStatementStats stats = countStatements(() -> userService.getAllUsers());
+
+        //then
+        assertStatementCount(stats, 1);
+    }
+
+    @Test
+    void deleteUserByIdShouldSelectAndDelete() {
+        //given
+        User user = saveUser("delete@count.com");
+
+        //when
+        SqlStatementStats stats = countStatements(() -> userService.deleteUserById(user.getId()));
+
+        //then
+        assertStatementCount(stats, QueryType.SELECT, 1);
+        assertStatementCount(stats, QueryType.DELETE, 1);
+        assertStatementCount(stats, 2);
+    }
+
+    private User saveUser(String email) {
+        return userRepository.save(User.builder()
+                .name("Count User")
+                .email(email)
+                .age(30)
+                .build());
+    }
+
+    private UserRequestDto request(String email) {
+        return UserRequestDto.builder()
+                .name("Count User")
+                .email(email)
+                .age(30)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package ru.acton.ivantkachuk.userservice.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.acton.ivantkachuk.userservice.cache.UserReadCache;
+import ru.acton.ivantkachuk.userservice.controller.UserController;
+import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.service.UserService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "userservice.cache.fresh-for=0s",
+        "userservice.cache.max-stale=10m",
+        "userservice.cache.invalidation.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.connection-timeout=250ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserStaleReadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserReadCache userReadCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+    }
+
+    @BeforeAll
+    static void runContainer() {
+        container.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        container.stop();
+    }
+
+    @AfterEach
+    void restoreTable() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.execute("ALTER TABLE IF EXISTS users_unavailable RENAME TO users"));
+        userReadCache.clear();
+    }
+
+    @Test
+    void shouldServeStaleCopyWhenRepositoryFails() throws Exception {
+        //given
+        UserResponseDto user = userService.create(request("stale@example.com"));
+        mockMvc.perform(get("/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UserController.CACHE_STATUS));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.execute("ALTER TABLE users RENAME TO users_unavailable"));
+
+        //when & then
+        mockMvc.perform(get("/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.CACHE_STATUS, UserController.STALE))
+                .andExpect(header().exists(HttpHeaders.AGE))
+                .andExpect(header().string(UserController.WARNING, UserController.STALE_WARNING))
+                .andExpect(jsonPath("$.email").value("stale@example.com"));
+    }
+
+    @Test
+    void shouldServeStaleCopyWhenConnectionPoolIsExhausted() throws Exception {
+        //given
+        UserResponseDto user = userService.create(request("pool@example.com"));
+        mockMvc.perform(get("/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UserController.CACHE_STATUS));
+        List<Connection> held = new ArrayList<>();
+        try {
+            while (true) {
+                held.add(dataSource.getConnection());
+            }
+        } catch (SQLTransientConnectionException exhausted) {
+            //when & then
+            mockMvc.perform(get("/user/{userId}", user.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(UserController.CACHE_STATUS, UserController.STALE))
+                    .andExpect(jsonPath("$.email").value("pool@example.com"));
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    void shouldNotCacheUserFromRolledBackTransaction() {
+        //given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        //when
+        transaction.executeWithoutResult(status -> {
+            userService.create(request("rolled-back@example.com"));
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(userReadCache.getByEmail("rolled-back@example.com")).isEmpty();
+    }
+
+    private static UserRequestDto request(String email) {
+        return UserRequestDto.builder()
+                .name("Stale Reader")
+                .email(email)
+                .age(30)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTest {
+
+    static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+    private GradientConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        LimiterProperties.Concurrency properties = new LimiterProperties.Concurrency();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(50);
+        properties.setWindow(Duration.ofMillis(10));
+        limiter = new GradientConcurrencyLimiter(properties, clock::get);
+    }
+
+    @Test
+    void shouldRejectWhenLimitReached() {
+        //given
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        //when & then
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldGrowLimitWhileLatencyIsStable() {
+        //when
+        runWindows(20, FAST);
+
+        //then
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyDegrades() {
+        //given
+        runWindows(20, FAST);
+        int before = limiter.getLimit();
+
+        //when
+        runWindows(20, SLOW);
+
+        //then
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void shouldBackOffOnDrops() {
+        //when
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            limiter.release(SLOW, true);
+        }
+
+        //then
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    private void runWindows(int windows, long rtt) {
+        for (int i = 0; i < windows; i++) {
+            limiter.tryAcquire();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            limiter.release(rtt, false);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityProperties;
+import ru.acton.ivantkachuk.userservice.client.ClientIdentityResolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingFilterTest {
+
+    private static final String PROXY = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final FilterChain ok = (request, response) -> { };
+
+    @Test
+    void shouldIgnoreRotatingClientIdFromUntrustedAddress() throws Exception {
+        //given
+        LoadSheddingFilter filter = filter(List.of(PROXY));
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request("192.168.1.7", "client-" + i), new MockHttpServletResponse(), ok);
+        }
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("192.168.1.7", "client-5"), response, ok);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void shouldKeyOnClientIdFromTrustedProxy() throws Exception {
+        //given
+        LoadSheddingFilter filter = filter(List.of(PROXY));
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request(PROXY, "first"), new MockHttpServletResponse(), ok);
+        }
+
+        //when
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request(PROXY, "second"), second, ok);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request(PROXY, "first"), first, ok);
+
+        //then
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(first.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void shouldPreferAuthenticatedPrincipal() throws Exception {
+        //given
+        LoadSheddingFilter filter = filter(List.of());
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = request("192.168.1.7", null);
+            request.setUserPrincipal(() -> "alice");
+            filter.doFilter(request, new MockHttpServletResponse(), ok);
+        }
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("192.168.1.7", null), response, ok);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private LoadSheddingFilter filter(List<String> trustedProxies) {
+        LimiterProperties properties = new LimiterProperties();
+        properties.getRateLimit().setPermitsPerSecond(1);
+        properties.getRateLimit().setBurst(5);
+        ClientIdentityProperties clientIdentity = new ClientIdentityProperties();
+        clientIdentity.setTrustedProxies(trustedProxies);
+        return new LoadSheddingFilter(
+                new GradientConcurrencyLimiter(properties.getConcurrency(), clock::get),
+                new TokenBucketRateLimiter(properties.getRateLimit(), clock::get),
+                new ClientIdentityResolver(clientIdentity),
+                properties,
+                new SimpleMeterRegistry());
+    }
+
+    private MockHttpServletRequest request(String remoteAddr, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/1");
+        request.setRemoteAddr(remoteAddr);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+}
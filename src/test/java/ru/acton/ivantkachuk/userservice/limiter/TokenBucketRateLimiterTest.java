@@ -0,0 +1,109 @@
+package ru.acton.ivantkachuk.userservice.limiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        LimiterProperties.RateLimit properties = new LimiterProperties.RateLimit();
+        properties.setPermitsPerSecond(10);
+        properties.setBurst(5);
+        properties.setMaxClients(2);
+        rateLimiter = new TokenBucketRateLimiter(properties, clock::get);
+    }
+
+    @Test
+    void shouldAllowBurstThenReject() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("client")).isEqualTo(TokenBucketRateLimiter.ALLOWED);
+        }
+
+        //when
+        long waitNanos = rateLimiter.tryAcquire("client");
+
+        //then
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("client");
+        }
+
+        //when
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        //then
+        assertThat(rateLimiter.tryAcquire("client")).isEqualTo(TokenBucketRateLimiter.ALLOWED);
+        assertThat(rateLimiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void shouldTrackClientsIndependently() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("first");
+        }
+
+        //when
+        long actual = rateLimiter.tryAcquire("second");
+
+        //then
+        assertThat(actual).isEqualTo(TokenBucketRateLimiter.ALLOWED);
+        assertThat(rateLimiter.tryAcquire("first")).isPositive();
+    }
+
+    @Test
+    void shouldEvictIdleClientsWhenFull() {
+        //given
+        rateLimiter.tryAcquire("first");
+        rateLimiter.tryAcquire("second");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        //when
+        rateLimiter.tryAcquire("third");
+
+        //then
+        assertThat(rateLimiter.getTrackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectNewClientsWhenFullOfActiveClients() {
+        //given
+        rateLimiter.tryAcquire("first");
+        rateLimiter.tryAcquire("second");
+
+        //when
+        long actual = rateLimiter.tryAcquire("third");
+
+        //then
+        assertThat(actual).isPositive();
+        assertThat(rateLimiter.getTrackedClients()).isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire("first")).isEqualTo(TokenBucketRateLimiter.ALLOWED);
+    }
+
+    @Test
+    void shouldNeverTrackMoreThanMaxClients() {
+        //when
+        for (int i = 0; i < 1_000; i++) {
+            rateLimiter.tryAcquire("client-" + i);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        //then
+        assertThat(rateLimiter.getTrackedClients()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.acton.ivantkachuk.userservice.load;
+
+import java.util.Arrays;
+
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long shed;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count << 1);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void shed() {
+        shed++;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long shedCount() {
+        return shed;
+    }
+
+    long errorCount() {
+        return errors;
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i]);
+        }
+        shed += other.shed;
+        errors += other.errors;
+    }
+
+    long[] sorted() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1));
+        return sorted[index] / 1_000_000.0;
+    }
+}
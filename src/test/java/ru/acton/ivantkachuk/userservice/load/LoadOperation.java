@@ -0,0 +1,30 @@
+package ru.acton.ivantkachuk.userservice.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+enum LoadOperation {
+    GET("get", Set.of(200, 404)),
+    GET_BY_EMAIL("get-by-email", Set.of(200, 404)),
+    LIST("list", Set.of(200)),
+    SEARCH("search", Set.of(200)),
+    STATS("stats", Set.of(200)),
+    CREATE("create", Set.of(200)),
+    DELETE("delete", Set.of(204));
+
+    private final String key;
+    private final Set<Integer> expectedStatuses;
+
+    static LoadOperation byKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load operation '" + key
+                        + "', expected one of " + Arrays.stream(values()).map(LoadOperation::getKey).toList()));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.acton.ivantkachuk.userservice.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+record LoadSettings(String[] profiles,
+                    int concurrency,
+                    Duration warmup,
+                    Duration duration,
+                    int seedUsers,
+                    long randomSeed,
+                    Map<LoadOperation, Integer> mix,
+                    List<String> applicationProperties) {
+
+    static final String PREFIX = "load.";
+    static final String APPLICATION_PREFIX = "load.app.";
+
+    static LoadSettings fromSystemProperties() {
+        List<String> applicationProperties = new ArrayList<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APPLICATION_PREFIX))
+                .sorted()
+                .forEach(name -> applicationProperties.add(
+                        name.substring(APPLICATION_PREFIX.length()) + "=" + System.getProperty(name)));
+        return new LoadSettings(
+                property("profiles", "in-memory").split(","),
+                Integer.parseInt(property("concurrency", "32")),
+                Duration.parse(property("warmup", "PT5S")),
+                Duration.parse(property("duration", "PT20S")),
+                Integer.parseInt(property("seed-users", "1000")),
+                Long.parseLong(property("random-seed", "42")),
+                parseMix(property("mix", "get=60,get-by-email=10,list=1,search=5,stats=1,create=18,delete=5")),
+                applicationProperties);
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like operation=weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.byKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix is empty: " + mix);
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
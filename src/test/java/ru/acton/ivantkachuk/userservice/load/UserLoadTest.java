@@ -0,0 +1,209 @@
+package ru.acton.ivantkachuk.userservice.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.acton.ivantkachuk.userservice.UserserviceApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("load")
+class UserLoadTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong minId = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxId = new AtomicLong();
+    private HttpClient http;
+    private String baseUrl;
+
+    @Test
+    void runMixedWorkload() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        try (ConfigurableApplicationContext context = startApplication(settings);
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            http = client;
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            seed(settings);
+            run(settings, settings.warmup(), settings.randomSeed() - 1);
+            long start = System.nanoTime();
+            Map<LoadOperation, LatencyRecorder> results = run(settings, settings.duration(), settings.randomSeed());
+            long elapsedNanos = System.nanoTime() - start;
+
+            report(settings, results, elapsedNanos);
+            assertThat(results.values().stream().mapToLong(LatencyRecorder::errorCount).sum())
+                    .as("requests answered with an unexpected status")
+                    .isZero();
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(LoadSettings settings) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.grpc.server.port=0",
+                "logging.level.root=WARN",
+                "userservice.limiter.rate-limit.enabled=false"));
+        properties.addAll(settings.applicationProperties());
+        return new SpringApplicationBuilder(UserserviceApplication.class)
+                .profiles(settings.profiles())
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    private void seed(LoadSettings settings) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency())) {
+            List<Future<?>> creates = new ArrayList<>();
+            for (int i = 0; i < settings.seedUsers(); i++) {
+                String email = "seed-" + i + "@load.test";
+                creates.add(executor.submit(() -> {
+                    HttpResponse<String> response = http.send(createRequest("Seed " + email, email),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Seeding " + email + " failed with " + response.statusCode());
+                    }
+                    trackId(response.body());
+                    return null;
+                }));
+            }
+            for (Future<?> create : creates) {
+                create.get();
+            }
+        }
+    }
+
+    private Map<LoadOperation, LatencyRecorder> run(LoadSettings settings, Duration duration, long randomSeed)
+            throws Exception {
+        LoadOperation[] schedule = schedule(settings.mix());
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<LoadOperation, LatencyRecorder>>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency())) {
+            for (int worker = 0; worker < settings.concurrency(); worker++) {
+                Random random = new Random(randomSeed * 31 + worker);
+                String emailPrefix = "w" + worker + "-" + randomSeed + "-";
+                workers.add(executor.submit(() -> work(schedule, random, emailPrefix, deadline, settings.seedUsers())));
+            }
+            Map<LoadOperation, LatencyRecorder> merged = new EnumMap<>(LoadOperation.class);
+            for (Future<Map<LoadOperation, LatencyRecorder>> worker : workers) {
+                worker.get().forEach((operation, recorder) ->
+                        merged.computeIfAbsent(operation, ignored -> new LatencyRecorder()).merge(recorder));
+            }
+            return merged;
+        }
+    }
+
+    private Map<LoadOperation, LatencyRecorder> work(LoadOperation[] schedule, Random random, String emailPrefix,
+                                                     long deadline, int seedUsers) throws Exception {
+        Map<LoadOperation, LatencyRecorder> recorders = new EnumMap<>(LoadOperation.class);
+        long created = 0;
+        while (System.nanoTime() < deadline) {
+            LoadOperation operation = schedule[random.nextInt(schedule.length)];
+            HttpRequest request = switch (operation) {
+                case GET -> get("/user/" + randomId(random));
+                case GET_BY_EMAIL -> get("/user/by-email/seed-" + random.nextInt(seedUsers) + "@load.test");
+                case LIST -> get("/user?fields=id,name");
+                case SEARCH -> get("/user/search?q=seed" + random.nextInt(seedUsers) + "&limit=10");
+                case STATS -> get("/user/stats");
+                case CREATE -> createRequest("Load user", emailPrefix + created++ + "@load.test");
+                case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/user/" + randomId(random)))
+                        .DELETE()
+                        .build();
+            };
+            LatencyRecorder recorder = recorders.computeIfAbsent(operation, ignored -> new LatencyRecorder());
+            long start = System.nanoTime();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - start;
+            int status = response.statusCode();
+            if (operation.getExpectedStatuses().contains(status)) {
+                recorder.record(latency);
+                if (operation == LoadOperation.CREATE) {
+                    trackId(response.body());
+                }
+            } else if (status == 429 || status == 503) {
+                recorder.shed();
+            } else {
+                recorder.error();
+            }
+        }
+        return recorders;
+    }
+
+    private void report(LoadSettings settings, Map<LoadOperation, LatencyRecorder> results, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%nprofiles=%s concurrency=%d duration=%s seed-users=%d mix=%s%n",
+                String.join(",", settings.profiles()), settings.concurrency(), settings.duration(),
+                settings.seedUsers(), settings.mix().entrySet().stream()
+                        .map(entry -> entry.getKey().getKey() + "=" + entry.getValue())
+                        .collect(Collectors.joining(",")));
+        System.out.printf("%-14s %9s %7s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "ok", "shed", "errors", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        LatencyRecorder total = new LatencyRecorder();
+        results.forEach((operation, recorder) -> {
+            printRow(operation.getKey(), recorder, seconds);
+            total.merge(recorder);
+        });
+        printRow("total", total, seconds);
+    }
+
+    private void printRow(String name, LatencyRecorder recorder, double seconds) {
+        long[] sorted = recorder.sorted();
+        System.out.printf("%-14s %9d %7d %7d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name, recorder.count(), recorder.shedCount(), recorder.errorCount(), recorder.count() / seconds,
+                LatencyRecorder.percentileMillis(sorted, 0.50), LatencyRecorder.percentileMillis(sorted, 0.90),
+                LatencyRecorder.percentileMillis(sorted, 0.99), LatencyRecorder.percentileMillis(sorted, 0.999),
+                LatencyRecorder.percentileMillis(sorted, 1.0));
+    }
+
+    private static LoadOperation[] schedule(Map<LoadOperation, Integer> mix) {
+        List<LoadOperation> schedule = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule.toArray(LoadOperation[]::new);
+    }
+
+    private long randomId(Random random) {
+        long min = minId.get();
+        long max = maxId.get();
+        return min + (long) (random.nextDouble() * (max - min + 1));
+    }
+
+    private void trackId(String body) throws Exception {
+        JsonNode user = objectMapper.readTree(body);
+        long id = user.get("id").asLong();
+        minId.accumulateAndGet(id, Math::min);
+        maxId.accumulateAndGet(id, Math::max);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest createRequest(String name, String email) {
+        String body = "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"age\":" + (18 + email.length() % 60) + "}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/user"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.acton.ivantkachuk.userservice.entity.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTransactionManagerTest {
+
+    private InMemoryUserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository(new InMemoryRepositoryProperties());
+        transactionTemplate = new TransactionTemplate(new InMemoryTransactionManager());
+    }
+
+    @Test
+    void shouldRestoreInsertsUpdatesAndDeletesOnRollback() {
+        //given
+        Long alexId = userRepository.save(user("Alex", "alex@test.com")).getId();
+        Long bobId = userRepository.save(user("Bob", "bob@test.com")).getId();
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            User alex = userRepository.findById(alexId).orElseThrow();
+            alex.setEmail("alexander@test.com");
+            userRepository.save(alex);
+            alex.setName("Alexander");
+            userRepository.save(alex);
+            userRepository.deleteById(bobId);
+            userRepository.save(user("Carl", "bob@test.com"));
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(userRepository.findAll()).extracting(User::getName).containsExactly("Alex", "Bob");
+        assertThat(userRepository.findByEmail("alex@test.com")).hasValueSatisfying(found ->
+                assertThat(found.getId()).isEqualTo(alexId));
+        assertThat(userRepository.findByEmail("bob@test.com")).hasValueSatisfying(found ->
+                assertThat(found.getId()).isEqualTo(bobId));
+        assertThat(userRepository.existsByEmail("alexander@test.com")).isFalse();
+    }
+
+    @Test
+    void shouldRollBackOnExceptionAndKeepCommittedWrites() {
+        //given
+        transactionTemplate.executeWithoutResult(status -> userRepository.save(user("Alex", "alex@test.com")));
+
+        //when
+        //then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user("Bob", "bob@test.com"));
+            userRepository.save(user("Other", "alex@test.com"));
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(userRepository.findAll()).extracting(User::getName).containsExactly("Alex");
+    }
+
+    @Test
+    void shouldRollBackOuterTransactionWhenParticipantFails() {
+        //given
+        TransactionTemplate participant = new TransactionTemplate(transactionTemplate.getTransactionManager());
+
+        //when
+        //then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user("Alex", "alex@test.com"));
+            participant.executeWithoutResult(inner -> inner.setRollbackOnly());
+        })).isInstanceOf(UnexpectedRollbackException.class);
+        assertThat(userRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldKeepRequiresNewCommitWhenOuterTransactionRollsBack() {
+        //given
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user("Alex", "alex@test.com"));
+            requiresNew.executeWithoutResult(inner -> userRepository.save(user("Bob", "bob@test.com")));
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(userRepository.findAll()).extracting(User::getName).containsExactly("Bob");
+    }
+
+    private static User user(String name, String email) {
+        return User.builder()
+                .name(name)
+                .email(email)
+                .age(30)
+                .build();
+    }
+}
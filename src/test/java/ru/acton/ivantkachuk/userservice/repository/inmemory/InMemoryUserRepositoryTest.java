@@ -0,0 +1,252 @@
+package ru.acton.ivantkachuk.userservice.repository.inmemory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.acton.ivantkachuk.userservice.entity.User;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository.SearchableUser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryUserRepositoryTest {
+
+    private InMemoryUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository(new InMemoryRepositoryProperties());
+    }
+
+    @Test
+    void shouldAssignIdsAndCreationDate() {
+        //given
+        User user = user("Alex", "alex@test.com");
+
+        //when
+        User saved = userRepository.save(user);
+
+        //then
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(userRepository.findByEmail("alex@test.com")).hasValueSatisfying(found ->
+                assertThat(found.getId()).isEqualTo(1L));
+    }
+
+    @Test
+    void shouldRejectDuplicateEmail() {
+        //given
+        userRepository.save(user("Alex", "alex@test.com"));
+
+        //when
+        //then
+        assertThatThrownBy(() -> userRepository.save(user("Other", "alex@test.com")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReindexChangedEmailOnlyOnSave() {
+        //given
+        Long id = userRepository.save(user("Alex", "alex@test.com")).getId();
+        User loaded = userRepository.findById(id).orElseThrow();
+
+        //when
+        loaded.setEmail("alexander@test.com");
+        boolean visibleBeforeSave = userRepository.existsByEmail("alexander@test.com");
+        userRepository.save(loaded);
+
+        //then
+        assertThat(visibleBeforeSave).isFalse();
+        assertThat(userRepository.existsByEmail("alex@test.com")).isFalse();
+        assertThat(userRepository.findByEmail("alexander@test.com")).isPresent();
+    }
+
+    @Test
+    void shouldPageByIdAndForgetDeletedEmails() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(user("User " + i, "user" + i + "@test.com"));
+        }
+
+        //when
+        userRepository.deleteById(3L);
+        List<User> page = userRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(2));
+
+        //then
+        assertThat(page).extracting(User::getId).containsExactly(2L, 4L);
+        assertThat(userRepository.existsByEmail("user2@test.com")).isFalse();
+    }
+
+    @Test
+    void shouldInjectLatency() {
+        //given
+        InMemoryRepositoryProperties properties = new InMemoryRepositoryProperties();
+        properties.setReadLatency(Duration.ofMillis(20));
+        InMemoryUserRepository slowRepository = new InMemoryUserRepository(properties);
+
+        //when
+        long start = System.nanoTime();
+        slowRepository.findById(1L);
+        long elapsed = System.nanoTime() - start;
+
+        //then
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    @Test
+    void shouldFindByExampleWithStringMatching() {
+        //given
+        userRepository.save(user("Alex", "alex@test.com"));
+        userRepository.save(user("Alexander", "alexander@other.com"));
+        userRepository.save(user("Bob", "bob@test.com"));
+        Example<User> example = Example.of(User.builder().name("ALEX").build(), ExampleMatcher.matching()
+                .withIgnoreCase()
+                .withStringMatcher(ExampleMatcher.StringMatcher.STARTING));
+
+        //when
+        List<User> found = userRepository.findAll(example, Sort.by(Sort.Direction.DESC, "name"));
+
+        //then
+        assertThat(found).extracting(User::getName).containsExactly("Alexander", "Alex");
+        assertThat(userRepository.count(example)).isEqualTo(2);
+        assertThat(userRepository.exists(Example.of(User.builder().age(31).build()))).isFalse();
+    }
+
+    @Test
+    void shouldFindByExampleMatchingAnyProperty() {
+        //given
+        userRepository.save(user("Alex", "alex@test.com"));
+        userRepository.save(user("Bob", "bob@test.com"));
+        userRepository.save(user("Carl", "carl@test.com"));
+        Example<User> example = Example.of(User.builder().name("Bob").email("carl@test.com").build(),
+                ExampleMatcher.matchingAny());
+
+        //when
+        Page<User> page = userRepository.findAll(example, PageRequest.of(0, 1, Sort.by("id")));
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(User::getName).containsExactly("Bob");
+    }
+
+    @Test
+    void shouldRejectAmbiguousFindOneAndProjectFluentQueries() {
+        //given
+        userRepository.save(user("Alex", "alex@test.com"));
+        userRepository.save(user("Bob", "bob@test.com"));
+        Example<User> example = Example.of(User.builder().age(30).build());
+
+        //when
+        List<SearchableUser> projected = userRepository.findBy(example, query -> query
+                .as(SearchableUser.class)
+                .sortBy(Sort.by("email"))
+                .limit(1)
+                .all());
+
+        //then
+        assertThatThrownBy(() -> userRepository.findOne(example))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+        assertThat(projected).singleElement().satisfies(found ->
+                assertThat(found.getEmail()).isEqualTo("alex@test.com"));
+    }
+
+    @Test
+    void shouldProjectFluentQueriesOntoDtosAndSelectedProperties() {
+        //given
+        userRepository.save(user("Alex", "alex@test.com"));
+        Example<User> example = Example.of(User.builder().name("Alex").build());
+
+        //when
+        List<NameAndEmail> dtos = userRepository.findBy(example, query -> query.as(NameAndEmail.class).all());
+        User partial = userRepository.findBy(example, query -> query.project("name").oneValue());
+
+        //then
+        assertThat(dtos).containsExactly(new NameAndEmail("Alex", "alex@test.com"));
+        assertThat(partial.getId()).isEqualTo(1L);
+        assertThat(partial.getName()).isEqualTo("Alex");
+        assertThat(partial.getEmail()).isNull();
+        assertThat(userRepository.findById(1L)).get().extracting(User::getEmail).isEqualTo("alex@test.com");
+    }
+
+    @Test
+    void shouldRejectProjectionsOfUnknownProperties() {
+        //given
+        Example<User> example = Example.of(User.builder().name("Alex").build());
+
+        //when
+        //then
+        assertThatThrownBy(() -> userRepository.findBy(example, query -> query.as(Unknown.class).all()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("phone");
+        assertThatThrownBy(() -> userRepository.findBy(example, query -> query.project("phone").all()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("phone");
+    }
+
+    @Test
+    void shouldKeepEmailsUniqueUnderConcurrentSaves() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> saves = IntStream.range(0, 64)
+                .<Callable<Boolean>>mapToObj(i -> () -> {
+                    try {
+                        userRepository.save(user("User" + i, "same@test.com"));
+                        return true;
+                    } catch (DataIntegrityViolationException e) {
+                        return false;
+                    }
+                })
+                .toList();
+
+        //when
+        long saved;
+        try {
+            saved = executor.invokeAll(saves).stream().filter(InMemoryUserRepositoryTest::succeeded).count();
+        } finally {
+            executor.shutdown();
+        }
+
+        //then
+        assertThat(saved).isEqualTo(1);
+        assertThat(userRepository.count()).isEqualTo(1);
+        assertThat(userRepository.existsByEmail("same@test.com")).isTrue();
+    }
+
+    private static boolean succeeded(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record NameAndEmail(String name, String email) {
+    }
+
+    record Unknown(String name, String phone) {
+    }
+
+    private static User user(String name, String email) {
+        return User.builder()
+                .name(name)
+                .email(email)
+                .age(30)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.acton.ivantkachuk.userservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex(16);
+        index.addIfAbsent(1L, "Dima", "dima@test.com");
+        index.addIfAbsent(2L, "Alex", "alex@test.com");
+        index.addIfAbsent(3L, "Alexander", "sasha@test.com");
+        index.addIfAbsent(4L, "Lida", "lida@test.com");
+        index.markBuilt();
+    }
+
+    @Test
+    void shouldProducePaddedTrigramsLikePgTrgm() {
+        //when
+        long[] actual = TrigramIndex.trigrams("Cat");
+
+        //then
+        assertThat(actual).hasSize(4);
+    }
+
+    @Test
+    void shouldRankClosestMatchFirst() {
+        //when
+        List<TrigramIndex.Match> actual = index.search("alex", 10, 0.1f);
+
+        //then
+        assertThat(actual).extracting(TrigramIndex.Match::userId).containsExactly(2L, 3L);
+        assertThat(actual.get(0).score()).isGreaterThan(actual.get(1).score());
+    }
+
+    @Test
+    void shouldTolerateTypos() {
+        //when
+        List<TrigramIndex.Match> actual = index.search("alexandr", 1, 0.3f);
+
+        //then
+        assertThat(actual).extracting(TrigramIndex.Match::userId).containsExactly(3L);
+    }
+
+    @Test
+    void shouldReflectUpdatesAndRemovals() {
+        //when
+        index.upsert(1L, "Dmitry", "dmitry@test.com");
+        index.remove(4L);
+
+        //then
+        assertThat(index.search("dima", 10, 0.3f)).isEmpty();
+        assertThat(index.search("dmitry", 10, 0.3f)).extracting(TrigramIndex.Match::userId).containsExactly(1L);
+        assertThat(index.search("lida", 10, 0.3f)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotResurrectUsersRemovedWhileBuilding() {
+        //given
+        TrigramIndex building = new TrigramIndex(16);
+        building.remove(5L);
+
+        //when
+        boolean added = building.addIfAbsent(5L, "Bob", "bob@test.com");
+
+        //then
+        assertThat(added).isFalse();
+        assertThat(building.search("bob", 10, 0.1f)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepOnlyTopK() {
+        //given
+        for (long id = 10; id < 2_000; id++) {
+            index.addIfAbsent(id, "Alex " + id, "alex" + id + "@test.com");
+        }
+
+        //when
+        List<TrigramIndex.Match> actual = index.search("alex", 5, 0.1f);
+
+        //then
+        assertThat(actual).hasSize(5);
+        assertThat(actual.get(0).userId()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldReturnUserOnceWhenBothFieldsMatch() {
+        //given
+        index.addIfAbsent(5L, "Lida", "dima.lida@test.com");
+
+        //when
+        List<TrigramIndex.Match> actual = index.search("lida", 10, 0.1f);
+
+        //then
+        assertThat(actual).extracting(TrigramIndex.Match::userId).containsExactlyInAnyOrder(4L, 5L);
+        assertThat(actual).extracting(TrigramIndex.Match::score).containsOnly(1.0f);
+    }
+
+    @Test
+    void shouldRequestCompactionAndCopyOnlyLiveUsers() {
+        //given
+        for (long id = 10; id < 3_000; id++) {
+            index.addIfAbsent(id, "User " + id, "user" + id + "@test.com");
+        }
+        for (long id = 10; id < 2_000; id++) {
+            index.remove(id);
+        }
+        TrigramIndex compacted = new TrigramIndex(16);
+
+        //when
+        index.copyLiveTo(compacted);
+        compacted.markBuilt();
+
+        //then
+        assertThat(index.needsCompaction()).isTrue();
+        assertThat(compacted.needsCompaction()).isFalse();
+        assertThat(compacted.size()).isEqualTo(index.size());
+        assertThat(compacted.search("alexander", 10, 0.3f)).extracting(TrigramIndex.Match::userId).startsWith(3L);
+        assertThat(compacted.search("user1500", 10, 0.5f)).isEmpty();
+    }
+}
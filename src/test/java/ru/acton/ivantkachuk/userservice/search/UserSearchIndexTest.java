@@ -0,0 +1,107 @@
+package ru.acton.ivantkachuk.userservice.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchProperties properties;
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchProperties();
+        properties.setExpectedUsers(16);
+        userSearchIndex = new UserSearchIndex(userRepository, transactionManager, properties);
+        doAnswer(invocation -> LongStream.range(1, 3_001).mapToObj(UserSearchIndexTest::searchable))
+                .when(userRepository).streamSearchableUsers();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userSearchIndex.shutdown();
+    }
+
+    @Test
+    void shouldBuildOnceUnlessPeriodicRebuildIsEnabled() {
+        //when
+        userSearchIndex.rebuild();
+        userSearchIndex.rebuild();
+
+        //then
+        verify(userRepository, times(1)).streamSearchableUsers();
+        assertThat(userSearchIndex.search("user42", 1)).extracting("id").containsExactly(42L);
+    }
+
+    @Test
+    void shouldRebuildPeriodicallyWhenEnabled() {
+        //given
+        properties.setPeriodicRebuild(true);
+
+        //when
+        userSearchIndex.rebuild();
+        userSearchIndex.rebuild();
+
+        //then
+        verify(userRepository, times(2)).streamSearchableUsers();
+    }
+
+    @Test
+    void shouldSwapInCompactedIndexWithoutDroppingUsers() {
+        //given
+        userSearchIndex.rebuild();
+        for (long id = 1; id <= 2_000; id++) {
+            userSearchIndex.onUserChanged(UserChangedEvent.deleted(id, null));
+        }
+
+        //when
+        userSearchIndex.compact();
+        userSearchIndex.onUserChanged(UserChangedEvent.created(UserResponseDto.builder()
+                .id(5_000L).name("Compacted").email("compacted@test.com").build()));
+
+        //then
+        assertThat(userSearchIndex.search("user2500", 1)).extracting("id").containsExactly(2_500L);
+        assertThat(userSearchIndex.search("user1500", 1)).extracting("id").doesNotContain(1_500L);
+        assertThat(userSearchIndex.search("compacted", 1)).extracting("id").containsExactly(5_000L);
+    }
+
+    private static UserRepository.SearchableUser searchable(long id) {
+        return new UserRepository.SearchableUser() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "User " + id;
+            }
+
+            @Override
+            public String getEmail() {
+                return "user" + id + "@test.com";
+            }
+        };
+    }
+}
@@ -5,22 +5,35 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import ru.acton.ivantkachuk.userservice.cache.CachedUser;
+import ru.acton.ivantkachuk.userservice.cache.UserCacheProperties;
+import ru.acton.ivantkachuk.userservice.cache.UserReadCache;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreaker;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreakerProperties;
 import ru.acton.ivantkachuk.userservice.dto.UserRequestDto;
 import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
 import ru.acton.ivantkachuk.userservice.entity.User;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundException;
 import ru.acton.ivantkachuk.userservice.exception.impl.EntityNotFoundWithEmailException;
 import ru.acton.ivantkachuk.userservice.mapper.UserMapper;
 import ru.acton.ivantkachuk.userservice.repository.UserRepository;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,6 +44,12 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Spy
+    private CircuitBreaker circuitBreaker = new CircuitBreaker(new CircuitBreakerProperties(), System::nanoTime);
+    @Spy
+    private UserReadCache userReadCache = new UserReadCache(new UserCacheProperties(), System::nanoTime);
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private UserService userService;
 
@@ -136,6 +155,51 @@ class UserServiceTest {
         verify(userMapper,never()).toDto(any(User.class));
     }
 
+    @Test
+    void getUserById_shouldServeStaleCopyWhenDatabaseFails() {
+        //given
+        doReturn(Optional.of(testUser)).when(userRepository).findById(ID);
+        doReturn(testUserResponseDto).when(userMapper).toDto(any(User.class));
+        userService.getUserById(ID);
+        doThrow(new DataAccessResourceFailureException("Connection refused")).when(userRepository).findById(ID);
+
+        //when
+        CachedUser actual = userService.readUserById(ID);
+
+        //then
+        assertThat(actual.user()).isSameAs(testUserResponseDto);
+        assertThat(actual.isStale()).isTrue();
+        verify(userRepository, times(2)).findById(ID);
+    }
+
+    @Test
+    void getUserById_shouldServeStaleCopyWhenTransactionCannotBegin() {
+        //given
+        doReturn(Optional.of(testUser)).when(userRepository).findById(ID);
+        doReturn(testUserResponseDto).when(userMapper).toDto(any(User.class));
+        userService.getUserById(ID);
+        doThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("Connection is not available, request timed out after 250ms")))
+                .when(userRepository).findById(ID);
+
+        //when
+        CachedUser actual = userService.readUserById(ID);
+
+        //then
+        assertThat(actual.user()).isSameAs(testUserResponseDto);
+        assertThat(actual.isStale()).isTrue();
+    }
+
+    @Test
+    void getUserById_shouldThrowWhenDatabaseFailsAndNothingCached() {
+        //given
+        doThrow(new DataAccessResourceFailureException("Connection refused")).when(userRepository).findById(ID);
+
+        //when & then
+        assertThatThrownBy(() -> userService.getUserById(ID))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
     @Test
     void shouldUpdateUserWhenExist() {
         //given
@@ -237,6 +301,34 @@ class UserServiceTest {
 
     }
 
+    @Test
+    void getUsersByIds_shouldLoadAndReturnRepeatedIdsOnce() {
+        //given
+        doReturn(List.of(testUser, testUser2)).when(userRepository).findAllById(Set.of(ID, 2L));
+        doReturn(testUserResponseDto).when(userMapper).toDto(testUser);
+        doReturn(testUserResponseDto2).when(userMapper).toDto(testUser2);
+
+        //when
+        List<UserResponseDto> actual = userService.getUsersByIds(List.of(ID, 2L, ID, 2L));
+
+        //then
+        assertThat(actual).containsExactly(testUserResponseDto, testUserResponseDto2);
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnUsersInRequestOrder() {
+        //given
+        doReturn(List.of(testUser2, testUser)).when(userRepository).findAllById(Set.of(ID, 3L, 2L));
+        doReturn(testUserResponseDto).when(userMapper).toDto(testUser);
+        doReturn(testUserResponseDto2).when(userMapper).toDto(testUser2);
+
+        //when
+        List<UserResponseDto> actual = userService.getUsersByIds(List.of(ID, 3L, 2L));
+
+        //then
+        assertThat(actual).containsExactly(testUserResponseDto, testUserResponseDto2);
+    }
+
     @Test
     void deleteUserById() {
         //given
@@ -249,4 +341,19 @@ class UserServiceTest {
         verify(userRepository, times(1)).deleteById(ID);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteUserById_shouldEvictCacheAndPublishChange() {
+        //given
+        userReadCache.put(testUserResponseDto);
+        doReturn(Optional.of(testUser)).when(userRepository).findById(ID);
+        doReturn(testUserResponseDto).when(userMapper).toDto(any(User.class));
+
+        //when
+        userService.deleteUserById(ID);
+
+        //then
+        assertThat(userReadCache.getById(ID)).isEmpty();
+        verify(eventPublisher, times(1)).publishEvent(UserChangedEvent.deleted(ID, testUserResponseDto));
+    }
+}
@@ -0,0 +1,197 @@
+package ru.acton.ivantkachuk.userservice.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreaker;
+import ru.acton.ivantkachuk.userservice.circuitbreaker.CircuitBreakerProperties;
+import ru.acton.ivantkachuk.userservice.dto.UserResponseDto;
+import ru.acton.ivantkachuk.userservice.dto.UserStatisticsDto;
+import ru.acton.ivantkachuk.userservice.event.UserChangedEvent;
+import ru.acton.ivantkachuk.userservice.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatisticsTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatistics userStatistics;
+
+    static final LocalDate TODAY = LocalDate.of(2025, 7, 23);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        userStatistics = new UserStatistics(userRepository,
+                new CircuitBreaker(new CircuitBreakerProperties(), System::nanoTime),
+                TransactionOperations.withoutTransaction(),
+                new StatisticsProperties(),
+                clock);
+    }
+
+    @Test
+    void shouldCountCreatedUsers() {
+        //when
+        userStatistics.onUserChanged(UserChangedEvent.created(user(1L, 24)));
+        userStatistics.onUserChanged(UserChangedEvent.created(user(2L, 27)));
+        userStatistics.onUserChanged(UserChangedEvent.created(user(3L, 105)));
+
+        //then
+        UserStatisticsDto actual = userStatistics.snapshot();
+        assertThat(actual.getTotalUsers()).isEqualTo(3);
+        assertThat(actual.getAgeHistogram()).containsEntry("20-29", 2L).containsEntry("100+", 1L);
+        assertThat(actual.getSignupsPerDay()).containsEntry(TODAY, 3L);
+    }
+
+    @Test
+    void shouldMoveAgeBucketOnUpdateAndDecrementOnDelete() {
+        //given
+        userStatistics.onUserChanged(UserChangedEvent.created(user(1L, 24)));
+
+        //when
+        userStatistics.onUserChanged(UserChangedEvent.updated(user(1L, 24), user(1L, 31)));
+        userStatistics.onUserChanged(UserChangedEvent.created(user(2L, 50)));
+        userStatistics.onUserChanged(UserChangedEvent.deleted(2L, user(2L, 50)));
+
+        //then
+        UserStatisticsDto actual = userStatistics.snapshot();
+        assertThat(actual.getTotalUsers()).isEqualTo(1);
+        assertThat(actual.getAgeHistogram())
+                .containsEntry("20-29", 0L)
+                .containsEntry("30-39", 1L)
+                .containsEntry("50-59", 0L);
+        assertThat(actual.getSignupsPerDay()).containsEntry(TODAY, 1L);
+    }
+
+    @Test
+    void shouldReplaceCountersWithRollupOnReconcile() {
+        //given
+        userStatistics.onUserChanged(UserChangedEvent.created(user(1L, 24)));
+        doReturn(5L).when(userRepository).count();
+        doReturn(List.of(bucket(1, 2), bucket(4, 3))).when(userRepository).countByAgeDecade();
+        doReturn(List.of(signups(TODAY, 5))).when(userRepository).countSignupsSince(any(LocalDate.class));
+
+        //when
+        userStatistics.reconcile();
+
+        //then
+        UserStatisticsDto actual = userStatistics.snapshot();
+        assertThat(actual.getTotalUsers()).isEqualTo(5);
+        assertThat(actual.getAgeHistogram()).containsEntry("10-19", 2L).containsEntry("20-29", 0L).containsEntry("40-49", 3L);
+        assertThat(actual.getSignupsPerDay()).containsEntry(TODAY, 5L);
+        assertThat(actual.getReconciledAt()).isEqualTo(Instant.parse("2025-07-23T00:00:00Z"));
+    }
+
+    @Test
+    void shouldApplyChangesCommittedDuringRollup() {
+        //given
+        doReturn(5L).when(userRepository).count();
+        doReturn(List.of(bucket(2, 5))).when(userRepository).countByAgeDecade();
+        doAnswer(invocation -> {
+            userStatistics.onUserChanged(UserChangedEvent.created(user(6L, 45)));
+            return List.of(signups(TODAY, 5));
+        }).when(userRepository).countSignupsSince(any(LocalDate.class));
+
+        //when
+        userStatistics.reconcile();
+
+        //then
+        UserStatisticsDto actual = userStatistics.snapshot();
+        assertThat(actual.getTotalUsers()).isEqualTo(6);
+        assertThat(actual.getAgeHistogram()).containsEntry("20-29", 5L).containsEntry("40-49", 1L);
+        assertThat(actual.getSignupsPerDay()).containsEntry(TODAY, 6L);
+    }
+
+    @Test
+    void shouldNotCountTwiceChangesCommittedBeforeSnapshot() {
+        //given
+        doAnswer(invocation -> {
+            userStatistics.onUserChanged(UserChangedEvent.created(user(6L, 45)));
+            return 6L;
+        }).when(userRepository).count();
+        doReturn(List.of(bucket(2, 5), bucket(4, 1))).when(userRepository).countByAgeDecade();
+        doReturn(List.of(signups(TODAY, 6))).when(userRepository).countSignupsSince(any(LocalDate.class));
+
+        //when
+        userStatistics.reconcile();
+
+        //then
+        UserStatisticsDto actual = userStatistics.snapshot();
+        assertThat(actual.getTotalUsers()).isEqualTo(6);
+        assertThat(actual.getAgeHistogram()).containsEntry("20-29", 5L).containsEntry("40-49", 1L);
+        assertThat(actual.getSignupsPerDay()).containsEntry(TODAY, 6L);
+    }
+
+    @Test
+    void shouldKeepCountersWhenRollupFails() {
+        //given
+        userStatistics.onUserChanged(UserChangedEvent.created(user(1L, 24)));
+        doReturn(5L).when(userRepository).count();
+        doReturn(List.of()).when(userRepository).countByAgeDecade();
+        doAnswer(invocation -> {
+            throw new IllegalStateException("connection reset");
+        }).when(userRepository).countSignupsSince(any(LocalDate.class));
+
+        //when
+        userStatistics.reconcile();
+        userStatistics.onUserChanged(UserChangedEvent.created(user(2L, 27)));
+
+        //then
+        UserStatisticsDto actual = userStatistics.snapshot();
+        assertThat(actual.getTotalUsers()).isEqualTo(2);
+        assertThat(actual.getReconciledAt()).isNull();
+    }
+
+    private UserResponseDto user(Long id, int age) {
+        return UserResponseDto.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@test.com")
+                .age(age)
+                .createdAt(Date.from(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant()))
+                .build();
+    }
+
+    private UserRepository.AgeBucketCount bucket(int bucket, long total) {
+        return new UserRepository.AgeBucketCount() {
+            @Override
+            public int getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private UserRepository.DailySignupCount signups(LocalDate day, long total) {
+        return new UserRepository.DailySignupCount() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
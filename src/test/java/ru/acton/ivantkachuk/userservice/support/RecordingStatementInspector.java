@@ -0,0 +1,32 @@
+package ru.acton.ivantkachuk.userservice.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> selects() {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                .toList();
+    }
+
+    public static List<String> selectList(String sql) {
+        String columns = sql.substring("select".length(), sql.toLowerCase().indexOf(" from ")).trim();
+        return List.of(columns.split("\\s*,\\s*"));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.acton.ivantkachuk.userservice.support;
+
+import net.ttddyy.dsproxy.QueryType;
+import ru.acton.ivantkachuk.userservice.sqlstats.SqlStatementStats;
+import ru.acton.ivantkachuk.userservice.sqlstats.SqlStatementStatsHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class SqlStatementCountAssertions {
+
+    private SqlStatementCountAssertions() {
+    }
+
+    public static SqlStatementStats countStatements(Runnable action) {
+        SqlStatementStatsHolder.begin();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            SqlStatementStatsHolder.end();
+            throw e;
+        }
+        return SqlStatementStatsHolder.end();
+    }
+
+    public static void assertStatementCount(SqlStatementStats stats, int expected) {
+        assertThat(stats.getStatements())
+                .as("SQL statements executed: %s", stats)
+                .isEqualTo(expected);
+    }
+
+    public static void assertStatementCount(SqlStatementStats stats, QueryType type, int expected) {
+        assertThat(stats.getStatements(type))
+                .as("%s statements executed: %s", type, stats)
+                .isEqualTo(expected);
+    }
+}